@@ -0,0 +1,221 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import com.thilina.WorkingTimeApplication.service.TimeCalculationService;
+import com.thilina.WorkingTimeApplication.util.exception.RequiredFieldException;
+import com.thilina.WorkingTimeApplication.util.transaction.PrimaryRead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Priority queue of engineers ordered by when they are projected to be free.
+ *
+ * An engineer's projected free time starts at the later of now and the end of their
+ * approved work, then runs their open estimates through the working-time calculation.
+ * Open tasks that have no estimate yet count as the default estimate.
+ *
+ * Nothing is ranked on the time it was placed. Engineers still busy with approved work
+ * are ranked on the projection from the end of that work, which does not move with the
+ * clock; engineers whose approved work has ended all start from the same "now" of the
+ * read, so they are ranked on their queued days and only the head is projected when
+ * asked. A third set ordered by the end of approved work moves engineers from the first
+ * group to the second as their work ends. Re-ranking an engineer is an O(log n) remove
+ * and insert, and the recommendation compares the heads of the two groups.
+ */
+@Slf4j
+@Component
+public class EngineerAvailabilityQueue {
+
+    private static final Comparator<Slot> BY_PROJECTION = Comparator
+            .comparing(Slot::projectedFreeAt)
+            .thenComparingLong(Slot::openTasks)
+            .thenComparing(Slot::engineerId);
+    private static final Comparator<Slot> BY_QUEUED_DAYS = Comparator
+            .comparingDouble(Slot::queuedDays)
+            .thenComparingLong(Slot::openTasks)
+            .thenComparing(Slot::engineerId);
+    private static final Comparator<Slot> BY_SCHEDULED_UNTIL = Comparator
+            .comparing(Slot::scheduledUntil)
+            .thenComparing(Slot::engineerId);
+
+    private final UserRepository userRepository;
+    private final EngineerWorkloadCache engineerWorkloadCache;
+    private final TimeCalculationService timeCalculationService;
+    private final TransactionTemplate primaryRead;
+
+    @Value("${task.auto-assign.default-estimate-days:1.0}")
+    private double defaultEstimateDays;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final TreeSet<Slot> busy = new TreeSet<>(BY_PROJECTION);
+    private final TreeSet<Slot> busyUntil = new TreeSet<>(BY_SCHEDULED_UNTIL);
+    private final TreeSet<Slot> free = new TreeSet<>(BY_QUEUED_DAYS);
+    private final Map<Long, Slot> slotsByEngineer = new HashMap<>();
+    private boolean loaded;
+
+    public EngineerAvailabilityQueue(UserRepository userRepository, EngineerWorkloadCache engineerWorkloadCache,
+                                     TimeCalculationService timeCalculationService,
+                                     PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.engineerWorkloadCache = engineerWorkloadCache;
+        this.timeCalculationService = timeCalculationService;
+        this.primaryRead = PrimaryRead.template(transactionManager);
+    }
+
+    /**
+     * The engineer projected to be free first, if there is any engineer at all
+     */
+    public synchronized Optional<Long> leastLoaded() {
+        if (!loaded) {
+            load();
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        while (!busyUntil.isEmpty() && !busyUntil.first().scheduledUntil().isAfter(now)) {
+            Slot ended = busyUntil.pollFirst();
+            busy.remove(ended);
+            free.add(ended);
+        }
+
+        Slot firstBusy = busy.isEmpty() ? null : busy.first();
+        Slot firstFree = free.isEmpty() ? null : free.first();
+        if (firstFree == null) {
+            return Optional.ofNullable(firstBusy).map(Slot::engineerId);
+        }
+        if (firstBusy == null) {
+            return Optional.of(firstFree.engineerId());
+        }
+        Slot projectedFree = firstFree.projectedFrom(project(now, firstFree.queuedDays()));
+        return Optional.of(BY_PROJECTION.compare(projectedFree, firstBusy) <= 0
+                ? firstFree.engineerId()
+                : firstBusy.engineerId());
+    }
+
+    /**
+     * Re-rank an engineer after their workload changed.
+     * Changes made before the first load are ignored, since the load reads committed state.
+     */
+    public synchronized void refresh(Long engineerId) {
+        if (loaded && engineerId != null && slotsByEngineer.containsKey(engineerId)) {
+            place(engineerId);
+        }
+    }
+
+    /**
+     * Rank a new or changed user, or drop them when they are no longer an engineer
+     */
+    public synchronized void upsert(User user) {
+        if (!loaded) {
+            return;
+        }
+        if (user.getRole() == Role.ENGINEER) {
+            place(user.getId());
+        } else {
+            removeSlot(user.getId());
+        }
+    }
+
+    /**
+     * Drop an engineer who can no longer be assigned work
+     */
+    public synchronized void remove(Long engineerId) {
+        if (loaded) {
+            removeSlot(engineerId);
+        }
+    }
+
+    /**
+     * Drop all state; the next read reloads it, after the workload cache was invalidated
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+        busy.clear();
+        busyUntil.clear();
+        free.clear();
+        slotsByEngineer.clear();
+    }
+
+    private void place(Long engineerId) {
+        EngineerWorkload workload = engineerWorkloadCache.get(engineerId);
+        double queuedDays = workload.openEstimateDays() + workload.unestimatedTasks() * defaultEstimateDays;
+        LocalDateTime scheduledUntil = workload.scheduledUntil();
+
+        removeSlot(engineerId);
+        if (scheduledUntil != null && scheduledUntil.isAfter(LocalDateTime.now(clock))) {
+            Slot slot = new Slot(engineerId, queuedDays, workload.openTasks(), scheduledUntil,
+                    project(scheduledUntil, queuedDays));
+            busy.add(slot);
+            busyUntil.add(slot);
+            slotsByEngineer.put(engineerId, slot);
+        } else {
+            Slot slot = new Slot(engineerId, queuedDays, workload.openTasks(), scheduledUntil, null);
+            free.add(slot);
+            slotsByEngineer.put(engineerId, slot);
+        }
+    }
+
+    private void removeSlot(Long engineerId) {
+        Slot previous = slotsByEngineer.remove(engineerId);
+        if (previous == null) {
+            return;
+        }
+        if (previous.projectedFreeAt() != null) {
+            busy.remove(previous);
+            busyUntil.remove(previous);
+        }
+        // Busy slots also move here once their approved work ends
+        free.remove(previous);
+    }
+
+    private LocalDateTime project(LocalDateTime base, double queuedDays) {
+        if (queuedDays <= 0) {
+            return base;
+        }
+
+        try {
+            return timeCalculationService.calculateEndDateTime(base, queuedDays);
+        } catch (RequiredFieldException e) {
+            // Working hours not configured yet; fall back to calendar time so ranking still works
+            log.warn("Projecting engineer availability without working hours: {}", e.getMessage());
+            return base.plusMinutes(Math.round(queuedDays * 24 * 60));
+        }
+    }
+
+    /**
+     * The engineers are listed on the primary (see {@link PrimaryRead}); placing them reads
+     * the workload cache, which does so itself, and the working-time calculation.
+     */
+    private void load() {
+        List<Long> engineerIds = primaryRead.execute(status -> userRepository.findByRole(Role.ENGINEER).stream()
+                .map(User::getId)
+                .toList());
+        engineerIds.forEach(this::place);
+        loaded = true;
+        log.info("Engineer availability queue loaded with {} engineers", slotsByEngineer.size());
+    }
+
+    /**
+     * @param projectedFreeAt projection from the end of approved work; null when placed as free
+     */
+    private record Slot(Long engineerId, double queuedDays, long openTasks, LocalDateTime scheduledUntil,
+                        LocalDateTime projectedFreeAt) {
+
+        Slot projectedFrom(LocalDateTime freeAt) {
+            return new Slot(engineerId, queuedDays, openTasks, scheduledUntil, freeAt);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import com.thilina.WorkingTimeApplication.util.transaction.PrimaryRead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory directory of engineers for autocomplete.
+ *
+ * Every engineer is listed under their username, first name, last name and full name,
+ * lower-cased, in one sorted map keyed by term and id. A prefix query is the range of keys
+ * between the prefix and the prefix followed by the highest character, so it only visits the
+ * matching entries. Results are ordered by username, which is also the order of the
+ * directory without a query.
+ *
+ * The index is loaded on the first lookup and then kept current after each commit by the
+ * code that creates engineers or changes their details or role; lookups share a read lock,
+ * updates take the write lock. The load reads the primary (see {@link PrimaryRead}).
+ */
+@Slf4j
+@Component
+public class EngineerDirectoryIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final char HIGHEST = '\uFFFF';
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryRead;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Long> terms = new TreeMap<>();
+    private final NavigableMap<String, Engineer> byUsername = new TreeMap<>();
+    private final Map<Long, Engineer> engineers = new HashMap<>();
+    private volatile boolean loaded;
+
+    public EngineerDirectoryIndex(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.primaryRead = PrimaryRead.template(transactionManager);
+    }
+
+    /**
+     * One page of engineers whose username, first name, last name or full name starts
+     * with the query, case-insensitively; a blank query lists everyone
+     */
+    public Page<Engineer> search(String query, int page, int size) {
+        ensureLoaded();
+        String prefix = normalize(query);
+        PageRequest pageRequest = PageRequest.of(page, size);
+
+        lock.readLock().lock();
+        try {
+            if (prefix.isEmpty()) {
+                return page(byUsername.values().iterator(), byUsername.size(), pageRequest);
+            }
+
+            TreeSet<String> matches = new TreeSet<>();
+            terms.subMap(prefix, true, prefix + HIGHEST, false).values()
+                    .forEach(id -> matches.add(engineers.get(id).sortKey()));
+            Iterator<Engineer> ordered = matches.stream().map(byUsername::get).iterator();
+            return page(ordered, matches.size(), pageRequest);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every engineer, ordered by username
+     */
+    public List<Engineer> all() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return List.copyOf(byUsername.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a new or changed user, or drop them when they are no longer an engineer.
+     * Changes made before the first load are ignored, since the load reads committed state.
+     */
+    public void upsert(User user) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeEngineer(user.getId());
+            if (user.getRole() == Role.ENGINEER) {
+                addEngineer(Engineer.of(user));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeEngineer(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                primaryRead.execute(status -> userRepository.findByRole(Role.ENGINEER).stream()
+                        .map(Engineer::of)
+                        .toList())
+                        .forEach(this::addEngineer);
+                loaded = true;
+                log.info("Engineer directory loaded with {} engineers and {} terms", engineers.size(), terms.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addEngineer(Engineer engineer) {
+        engineers.put(engineer.id(), engineer);
+        byUsername.put(engineer.sortKey(), engineer);
+        for (String term : engineer.terms()) {
+            terms.put(term + SEPARATOR + engineer.id(), engineer.id());
+        }
+    }
+
+    private void removeEngineer(Long userId) {
+        Engineer engineer = engineers.remove(userId);
+        if (engineer == null) {
+            return;
+        }
+        byUsername.remove(engineer.sortKey());
+        for (String term : engineer.terms()) {
+            terms.remove(term + SEPARATOR + engineer.id());
+        }
+    }
+
+    private static Page<Engineer> page(Iterator<Engineer> ordered, int total, PageRequest pageRequest) {
+        long skip = pageRequest.getOffset();
+        while (skip-- > 0 && ordered.hasNext()) {
+            ordered.next();
+        }
+        List<Engineer> content = new ArrayList<>(pageRequest.getPageSize());
+        while (content.size() < pageRequest.getPageSize() && ordered.hasNext()) {
+            content.add(ordered.next());
+        }
+        return new PageImpl<>(content, pageRequest, total);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public record Engineer(Long id, String username, String firstName, String lastName, String email,
+                           String phoneNo) {
+
+        static Engineer of(User user) {
+            return new Engineer(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                    user.getEmail(), user.getPhoneNo());
+        }
+
+        String sortKey() {
+            return normalize(username) + SEPARATOR + id;
+        }
+
+        List<String> terms() {
+            List<String> terms = new ArrayList<>(4);
+            for (String value : new String[]{username, firstName, lastName, fullName()}) {
+                String term = normalize(value);
+                if (!term.isEmpty() && !terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+            return terms;
+        }
+
+        private String fullName() {
+            return (firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current load of one engineer.
+ *
+ * @param openTasks        assigned tasks that are not yet approved/scheduled
+ * @param unestimatedTasks open tasks that have no estimate yet
+ * @param openEstimateDays sum of the estimates of those open tasks
+ * @param scheduledUntil   latest end of the engineer's approved tasks, or null
+ */
+public record EngineerWorkload(long openTasks, long unestimatedTasks, double openEstimateDays,
+                               LocalDateTime scheduledUntil) {
+
+    public static final EngineerWorkload EMPTY = new EngineerWorkload(0, 0, 0.0, null);
+}
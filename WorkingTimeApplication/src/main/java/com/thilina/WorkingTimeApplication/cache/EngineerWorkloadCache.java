@@ -0,0 +1,314 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.model.Task;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.util.transaction.PrimaryRead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-engineer workload, keyed by engineer id.
+ *
+ * Loaded once with two GROUP BY queries, then maintained incrementally: TaskServiceImpl
+ * takes a {@link Contribution} of a task before and after every mutation and hands both
+ * to {@link #moveOnCommit} inside the transaction; the move is applied once it commits.
+ * Reads are plain map lookups.
+ *
+ * A change is in flight from {@link #moveOnCommit} until its transaction completes. The load
+ * only starts reading while none is in flight, and installs its read only if no change was
+ * registered while it ran, so every change either committed before the read and was skipped
+ * as unloaded, or is applied after the load; none is counted twice.
+ *
+ * Removing an engineer's latest approved end only marks their end stale; the next
+ * {@link #get} re-reads it, and installs it unless the engineer's end moved meanwhile.
+ * Database reads never run while holding the lock: changes are applied after commit while
+ * their connection is still held, so a read waiting under the lock for a pooled connection
+ * could drain the pool. Both reads run in a read-write transaction of their own (see
+ * {@link PrimaryRead}).
+ */
+@Slf4j
+@Component
+public class EngineerWorkloadCache {
+
+    private static final double EPSILON = 1e-9;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate primaryRead;
+
+    @Value("${workload.cache.load-wait-ms:2000}")
+    private long loadWaitMillis;
+
+    private final Map<Long, EngineerWorkload> workloads = new ConcurrentHashMap<>();
+    /**
+     * Engineers whose latest end is stale, with the stamp of the last change to it
+     */
+    private final Map<Long, Long> staleEnds = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private int inFlight;
+    private long registered;
+    private long endStamp;
+
+    public EngineerWorkloadCache(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.primaryRead = PrimaryRead.template(transactionManager);
+    }
+
+    public EngineerWorkload get(Long engineerId) {
+        Map<Long, EngineerWorkload> current = loaded ? workloads : load();
+        Long stamp = staleEnds.get(engineerId);
+        if (stamp != null && current == workloads) {
+            refreshEnd(engineerId, stamp);
+        }
+        return current.getOrDefault(engineerId, EngineerWorkload.EMPTY);
+    }
+
+    /**
+     * What a task contributes to its assignee's workload at one point in time.
+     */
+    public static Contribution contributionOf(Task task) {
+        return new Contribution(
+                task.getAssignedTo() != null ? task.getAssignedTo().getId() : null,
+                task.getStatus(),
+                task.getTimeEstimate(),
+                task.getEndDateTime()
+        );
+    }
+
+    /**
+     * Replace a task's old contribution with its new one once the current transaction
+     * commits. Either side may be null (task created or deleted). Register before any
+     * after-commit work that reads the cache, so that work sees the move.
+     */
+    public void moveOnCommit(Contribution before, Contribution after) {
+        moveOnCommit(Collections.singletonList(before), Collections.singletonList(after));
+    }
+
+    /**
+     * Replace several tasks' contributions, pairwise, once the current transaction commits
+     */
+    public void moveOnCommit(List<Contribution> before, List<Contribution> after) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(before, after, false);
+            return;
+        }
+
+        synchronized (this) {
+            inFlight++;
+            registered++;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean completed;
+
+            @Override
+            public void afterCommit() {
+                completed = true;
+                complete(before, after, true);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!completed) {
+                    complete(List.of(), List.of(), true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop all state; the next read reloads it from the database.
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+        registered++;
+        workloads.clear();
+        staleEnds.clear();
+    }
+
+    private synchronized void complete(List<Contribution> before, List<Contribution> after, boolean tracked) {
+        try {
+            if (loaded) {
+                for (int i = 0; i < before.size(); i++) {
+                    move(before.get(i), after.get(i));
+                }
+            }
+        } finally {
+            if (tracked && --inFlight == 0) {
+                notifyAll();
+            }
+        }
+    }
+
+    private void move(Contribution before, Contribution after) {
+        if (before != null && before.engineerId() != null) {
+            subtract(before);
+        }
+        if (after != null && after.engineerId() != null) {
+            add(after);
+        }
+    }
+
+    private void add(Contribution contribution) {
+        workloads.compute(contribution.engineerId(), (id, current) -> {
+            EngineerWorkload workload = current != null ? current : EngineerWorkload.EMPTY;
+            if (contribution.isScheduled()) {
+                LocalDateTime end = contribution.endDateTime();
+                LocalDateTime until = workload.scheduledUntil() == null || end.isAfter(workload.scheduledUntil())
+                        ? end : workload.scheduledUntil();
+                staleEnds.computeIfPresent(id, (engineer, stamp) -> ++endStamp);
+                return new EngineerWorkload(workload.openTasks(), workload.unestimatedTasks(),
+                        workload.openEstimateDays(), until);
+            }
+            return new EngineerWorkload(workload.openTasks() + 1,
+                    workload.unestimatedTasks() + (contribution.isEstimated() ? 0 : 1),
+                    workload.openEstimateDays() + contribution.estimateDays(),
+                    workload.scheduledUntil());
+        });
+    }
+
+    private void subtract(Contribution contribution) {
+        Long engineerId = contribution.engineerId();
+        EngineerWorkload workload = workloads.getOrDefault(engineerId, EngineerWorkload.EMPTY);
+
+        if (contribution.isScheduled()) {
+            // A max cannot be decremented; re-read it only when the latest task went away
+            if (contribution.endDateTime().equals(workload.scheduledUntil()) || staleEnds.containsKey(engineerId)) {
+                staleEnds.put(engineerId, ++endStamp);
+            }
+            return;
+        }
+
+        double days = workload.openEstimateDays() - contribution.estimateDays();
+        workloads.put(engineerId, new EngineerWorkload(
+                Math.max(0, workload.openTasks() - 1),
+                Math.max(0, workload.unestimatedTasks() - (contribution.isEstimated() ? 0 : 1)),
+                days < EPSILON ? 0.0 : days,
+                workload.scheduledUntil()));
+    }
+
+    /**
+     * Re-read an engineer's latest end and install it, unless their end changed again
+     * while reading; then it stays stale and the next read tries again.
+     */
+    private void refreshEnd(Long engineerId, long stamp) {
+        LocalDateTime until = primaryRead.execute(status ->
+                taskRepository.findLatestEndForAssignee(engineerId, TaskStatus.APPROVED));
+        synchronized (this) {
+            if (loaded && staleEnds.remove(engineerId, stamp)) {
+                workloads.compute(engineerId, (id, current) -> {
+                    EngineerWorkload workload = current != null ? current : EngineerWorkload.EMPTY;
+                    return new EngineerWorkload(workload.openTasks(), workload.unestimatedTasks(),
+                            workload.openEstimateDays(), until);
+                });
+            }
+        }
+    }
+
+    /**
+     * Load and install the workloads once no change is in flight. If changes keep
+     * overlapping for longer than load-wait-ms, serve this read from a snapshot that is
+     * not installed and try again on the next one.
+     */
+    private Map<Long, EngineerWorkload> load() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(loadWaitMillis);
+        while (true) {
+            long seen;
+            synchronized (this) {
+                if (loaded) {
+                    return workloads;
+                }
+                if (!awaitNoneInFlight(deadline)) {
+                    log.debug("Engineer workload cache not loaded, {} task changes still in flight", inFlight);
+                    break;
+                }
+                if (loaded) {
+                    return workloads;
+                }
+                seen = registered;
+            }
+
+            Map<Long, EngineerWorkload> read = read();
+            synchronized (this) {
+                if (loaded) {
+                    return workloads;
+                }
+                if (registered == seen) {
+                    workloads.putAll(read);
+                    loaded = true;
+                    log.info("Engineer workload cache loaded for {} engineers", workloads.size());
+                    return workloads;
+                }
+            }
+            // A change started while reading, which may or may not be part of the read
+            if (deadline - System.nanoTime() <= 0) {
+                return read;
+            }
+        }
+        return read();
+    }
+
+    /**
+     * Wait for in-flight changes to complete, until the deadline or an interrupt
+     */
+    private boolean awaitNoneInFlight(long deadline) {
+        while (inFlight > 0) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<Long, EngineerWorkload> read() {
+        return primaryRead.execute(status -> {
+            Map<Long, EngineerWorkload> read = new HashMap<>();
+            taskRepository.summarizeOpenWorkByAssignee(TaskStatus.APPROVED).forEach(row ->
+                    read.put(row.getEngineerId(), new EngineerWorkload(
+                            row.getTaskCount(),
+                            row.getTaskCount() - row.getEstimatedCount(),
+                            row.getEstimateDays() != null ? row.getEstimateDays() : 0.0,
+                            null)));
+            taskRepository.findLatestEndByAssignee(TaskStatus.APPROVED).forEach(row ->
+                    read.merge(row.getEngineerId(),
+                            new EngineerWorkload(0, 0, 0.0, row.getScheduledUntil()),
+                            (open, scheduled) -> new EngineerWorkload(open.openTasks(), open.unestimatedTasks(),
+                                    open.openEstimateDays(), scheduled.scheduledUntil())));
+            return read;
+        });
+    }
+
+    public record Contribution(Long engineerId, TaskStatus status, Double timeEstimate, LocalDateTime endDateTime) {
+
+        boolean isScheduled() {
+            return status == TaskStatus.APPROVED && endDateTime != null;
+        }
+
+        boolean isEstimated() {
+            return timeEstimate != null;
+        }
+
+        double estimateDays() {
+            return timeEstimate != null ? timeEstimate : 0.0;
+        }
+    }
+}
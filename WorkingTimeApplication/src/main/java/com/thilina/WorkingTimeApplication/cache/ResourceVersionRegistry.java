@@ -0,0 +1,65 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the ETags of the task and settings resources.
+ *
+ * Every committed change bumps the counter of each user whose task list it touches,
+ * or the single settings counter, so a conditional GET can be answered by comparing
+ * ETags without loading or serializing anything. ETags carry the process start time
+ * because the counters are not persisted: after a restart every cached copy is
+ * revalidated once.
+ */
+@Component
+public class ResourceVersionRegistry {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> taskVersions = new ConcurrentHashMap<>();
+    private final AtomicLong settingsVersion = new AtomicLong();
+
+    /**
+     * ETag of the task list visible to a user
+     */
+    public String taskListETag(String username) {
+        return taskListETag(taskVersion(username));
+    }
+
+    /**
+     * ETag of a task list at a version read earlier, so the tag and the body agree
+     */
+    public String taskListETag(long version) {
+        return "\"tasks-" + epoch + "-" + version + "\"";
+    }
+
+    /**
+     * ETag of a single task as seen by a user. It moves with the user's task list,
+     * which also covers the task being reassigned away from them.
+     */
+    public String taskETag(String username, Long taskId) {
+        return "\"task-" + taskId + "-" + epoch + "-" + taskVersion(username) + "\"";
+    }
+
+    public String settingsETag(String resource) {
+        return "\"" + resource + "-" + epoch + "-" + settingsVersion.get() + "\"";
+    }
+
+    public long taskVersion(String username) {
+        AtomicLong version = taskVersions.get(username);
+        return version != null ? version.get() : 0;
+    }
+
+    public void bumpTasks(String username) {
+        if (username != null) {
+            taskVersions.computeIfAbsent(username, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public void bumpSettings() {
+        settingsVersion.incrementAndGet();
+    }
+}
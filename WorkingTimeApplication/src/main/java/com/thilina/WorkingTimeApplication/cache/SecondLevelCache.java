@@ -0,0 +1,130 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.dto.CacheRegionStatistics;
+import com.thilina.WorkingTimeApplication.dto.CacheStatisticsResponse;
+import com.thilina.WorkingTimeApplication.model.OneTimeHoliday;
+import com.thilina.WorkingTimeApplication.model.RecurringHoliday;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.model.WorkingHours;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Eviction and hit-ratio statistics for the Hibernate second-level cache (regions in ehcache.xml).
+ *
+ * Hibernate keeps these regions consistent for writes made through the session. The services
+ * still evict explicitly after commit, so correctness does not depend on every future write
+ * going through an entity; bulk HQL, native and JDBC statements skip the entity regions.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCache {
+
+    public static final String USER_QUERIES = "query.users";
+    public static final String SETTINGS_QUERIES = "query.settings";
+
+    private static final List<String> ENTITY_REGIONS =
+            List.of("users", "working-hours", "one-time-holidays", "recurring-holidays");
+    private static final List<String> QUERY_REGIONS = List.of(USER_QUERIES, SETTINGS_QUERIES);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Drop one user and every cached user finder result
+     */
+    public void evictUser(Long userId) {
+        Cache cache = cache();
+        cache.evictEntityData(User.class, userId);
+        cache.evictQueryRegion(USER_QUERIES);
+    }
+
+    /**
+     * Drop all users, for writes that touched users in bulk
+     */
+    public void evictUsers() {
+        Cache cache = cache();
+        cache.evictEntityData(User.class);
+        cache.evictQueryRegion(USER_QUERIES);
+    }
+
+    /**
+     * Drop working hours, holidays and their finder results
+     */
+    public void evictSettings() {
+        Cache cache = cache();
+        cache.evictEntityData(WorkingHours.class);
+        cache.evictEntityData(OneTimeHoliday.class);
+        cache.evictEntityData(RecurringHoliday.class);
+        cache.evictQueryRegion(SETTINGS_QUERIES);
+    }
+
+    public CacheStatisticsResponse statistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+
+        List<CacheRegionStatistics> regions = new ArrayList<>();
+        ENTITY_REGIONS.forEach(region ->
+                regions.add(toRegionStatistics(region, statistics.getDomainDataRegionStatistics(region))));
+        QUERY_REGIONS.forEach(region ->
+                regions.add(toRegionStatistics(region, statistics.getQueryRegionStatistics(region))));
+
+        return CacheStatisticsResponse.builder()
+                .statisticsEnabled(statistics.isStatisticsEnabled())
+                .secondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount())
+                .secondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount())
+                .secondLevelCacheHitRatio(hitRatio(statistics.getSecondLevelCacheHitCount(),
+                        statistics.getSecondLevelCacheMissCount()))
+                .queryCacheHitCount(statistics.getQueryCacheHitCount())
+                .queryCacheMissCount(statistics.getQueryCacheMissCount())
+                .queryCacheHitRatio(hitRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()))
+                .regions(regions)
+                .build();
+    }
+
+    /**
+     * Query regions are only registered once a cacheable query ran, so statistics may be null
+     */
+    private CacheRegionStatistics toRegionStatistics(String region,
+                                                     org.hibernate.stat.CacheRegionStatistics statistics) {
+        long hits = statistics != null ? statistics.getHitCount() : 0;
+        long misses = statistics != null ? statistics.getMissCount() : 0;
+        return CacheRegionStatistics.builder()
+                .region(region)
+                .hitCount(hits)
+                .missCount(misses)
+                .putCount(statistics != null ? statistics.getPutCount() : 0)
+                .hitRatio(hitRatio(hits, misses))
+                .elementsInMemory(elementsInMemory(statistics))
+                .build();
+    }
+
+    /**
+     * JCache does not report region sizes; Hibernate signals that with a negative count
+     */
+    private static Long elementsInMemory(org.hibernate.stat.CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return 0L;
+        }
+        long count = statistics.getElementCountInMemory();
+        return count >= 0 ? count : null;
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    private Cache cache() {
+        return sessionFactory().getCache();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thilina.WorkingTimeApplication.dto.TaskResponse;
+import com.thilina.WorkingTimeApplication.util.exception.ServerErrorException;
+import com.thilina.WorkingTimeApplication.util.response.ConditionalResponses;
+import com.thilina.WorkingTimeApplication.util.response.SuccessResponseWrapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serialized task-list response per user, tagged with the task version it was built at.
+ *
+ * Writers never touch this cache; they only bump the user's counter in
+ * {@link ResourceVersionRegistry}. A reader whose version no longer matches the cached
+ * one rebuilds the entry, everyone else gets the stored bytes as is. The version must
+ * be read before the list is loaded: a change committing in between then leaves the
+ * entry one version behind, which costs a rebuild but never serves stale data. Bounded
+ * to the most active users; an evicted user simply rebuilds on their next read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskListResponseCache {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${task.list-cache.max-users:10000}")
+    private int maxUsers;
+
+    private Cache<String, Entry> entries;
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public Entry get(String username, long version, Supplier<List<TaskResponse>> loader) {
+        Entry cached = entries.getIfPresent(username);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        List<TaskResponse> tasks = loader.get();
+        Entry entry = new Entry(version, serialize(tasks),
+                ConditionalResponses.latest(tasks, TaskResponse::getUpdatedAt));
+
+        // Never replace a newer entry built by a concurrent reader
+        entries.asMap().merge(username, entry, (current, built) -> built.version() >= current.version() ? built : current);
+        return entry;
+    }
+
+    private byte[] serialize(List<TaskResponse> tasks) {
+        try {
+            return objectMapper.writeValueAsBytes(new SuccessResponseWrapper<>(tasks));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize task list", e);
+            throw new ServerErrorException("TASK_LIST_SERIALIZATION_FAILED", "Failed to serialize task list");
+        }
+    }
+
+    public record Entry(long version, byte[] body, LocalDateTime lastModified) {
+    }
+}
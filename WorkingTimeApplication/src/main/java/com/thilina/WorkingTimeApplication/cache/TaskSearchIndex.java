@@ -0,0 +1,290 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.model.Task;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.util.transaction.PrimaryRead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over task titles and descriptions.
+ *
+ * Each term maps to the tasks containing it with a field-weighted term frequency, where a
+ * title occurrence counts {@code task.search.title-boost} times a description occurrence.
+ * Postings are partitioned by owner: one set per creator for PMs and one per assignee for
+ * engineers, so a query only visits the postings of its own terms among the caller's own
+ * tasks. Hits are ranked with BM25 over those weighted frequencies, with document
+ * frequencies and lengths taken over the whole index so scores do not depend on the owner.
+ * The index is loaded on the first search and then kept current by TaskServiceImpl after
+ * each commit; searches share a read lock, updates take the write lock. The load reads the
+ * primary (see {@link PrimaryRead}).
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate primaryRead;
+
+    @Value("${task.search.title-boost:3.0}")
+    private double titleBoost;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Partition> byCreator = new HashMap<>();
+    private final Map<Long, Partition> byAssignee = new HashMap<>();
+    private final Map<String, Integer> documentFrequencies = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private double totalLength;
+    private volatile boolean loaded;
+
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.primaryRead = PrimaryRead.template(transactionManager);
+    }
+
+    /**
+     * Best matching tasks visible to a user, highest score first.
+     * PMs see the tasks they created, engineers the tasks assigned to them.
+     */
+    public List<Hit> search(String query, Long userId, boolean engineer, int limit) {
+        ensureLoaded();
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+
+        lock.readLock().lock();
+        try {
+            Partition partition = (engineer ? byAssignee : byCreator).get(userId);
+            if (terms.isEmpty() || partition == null) {
+                return List.of();
+            }
+
+            double averageLength = totalLength / documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Double> termPostings = partition.postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = documentFrequencies.get(term);
+                double idf = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                termPostings.forEach((taskId, frequency) -> {
+                    Document document = documents.get(taskId);
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.merge(taskId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index or re-index a task. Changes made before the first load are ignored,
+     * since the load reads committed state.
+     */
+    public void upsert(Task task) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeDocument(task.getId());
+            addDocument(task.getId(), task.getTitle(), task.getDescription(),
+                    task.getCreatedBy().getId(),
+                    task.getAssignedTo() != null ? task.getAssignedTo().getId() : null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            removeDocument(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move tasks to another assignee; only the assignees' partitions change
+     */
+    public void reassign(Collection<Long> taskIds, Long assignedToId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            for (Long taskId : taskIds) {
+                Document document = documents.get(taskId);
+                if (document == null) {
+                    continue;
+                }
+                removeFrom(byAssignee, document.assignedToId(), taskId, document);
+                Document reassigned = new Document(document.createdById(), assignedToId,
+                        document.terms(), document.frequencies(), document.length());
+                documents.put(taskId, reassigned);
+                addTo(byAssignee, assignedToId, taskId, reassigned);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                primaryRead.execute(status -> taskRepository.findAllForSearchIndex()).forEach(task -> addDocument(
+                        task.getId(), task.getTitle(), task.getDescription(), task.getCreatedById(), task.getAssignedToId()));
+                loaded = true;
+                log.info("Search index loaded with {} tasks and {} terms", documents.size(), documentFrequencies.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(Long taskId, String title, String description, Long createdById, Long assignedToId) {
+        Map<String, Double> frequencies = new HashMap<>();
+        List<String> titleTerms = tokenize(title);
+        List<String> descriptionTerms = tokenize(description);
+        titleTerms.forEach(term -> frequencies.merge(term, titleBoost, Double::sum));
+        descriptionTerms.forEach(term -> frequencies.merge(term, 1.0, Double::sum));
+
+        double length = titleTerms.size() * titleBoost + descriptionTerms.size();
+        String[] terms = frequencies.keySet().toArray(String[]::new);
+        double[] termFrequencies = new double[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            termFrequencies[i] = frequencies.get(terms[i]);
+            documentFrequencies.merge(terms[i], 1, Integer::sum);
+        }
+
+        Document document = new Document(createdById, assignedToId, terms, termFrequencies, length);
+        documents.put(taskId, document);
+        addTo(byCreator, createdById, taskId, document);
+        addTo(byAssignee, assignedToId, taskId, document);
+        totalLength += length;
+    }
+
+    private void removeDocument(Long taskId) {
+        Document document = documents.remove(taskId);
+        if (document == null) {
+            return;
+        }
+        removeFrom(byCreator, document.createdById(), taskId, document);
+        removeFrom(byAssignee, document.assignedToId(), taskId, document);
+        for (String term : document.terms()) {
+            documentFrequencies.computeIfPresent(term, (key, count) -> count > 1 ? count - 1 : null);
+        }
+        totalLength -= document.length();
+    }
+
+    private static void addTo(Map<Long, Partition> partitions, Long ownerId, Long taskId, Document document) {
+        if (ownerId != null) {
+            partitions.computeIfAbsent(ownerId, id -> new Partition()).add(taskId, document);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Partition> partitions, Long ownerId, Long taskId, Document document) {
+        if (ownerId == null) {
+            return;
+        }
+        Partition partition = partitions.get(ownerId);
+        if (partition != null && partition.remove(taskId, document)) {
+            partitions.remove(ownerId);
+        }
+    }
+
+    private List<Hit> topHits(Map<Long, Double> scores, int limit) {
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).thenComparing(Hit::taskId, Comparator.reverseOrder());
+        PriorityQueue<Hit> best = new PriorityQueue<>(ranking);
+        scores.forEach((taskId, score) -> {
+            best.add(new Hit(taskId, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    public record Hit(Long taskId, double score) {
+    }
+
+    private record Document(Long createdById, Long assignedToId, String[] terms, double[] frequencies,
+                            double length) {
+    }
+
+    /**
+     * The postings of one owner's tasks
+     */
+    private static final class Partition {
+        private final Map<String, Map<Long, Double>> postings = new HashMap<>();
+
+        void add(Long taskId, Document document) {
+            for (int i = 0; i < document.terms().length; i++) {
+                postings.computeIfAbsent(document.terms()[i], term -> new HashMap<>())
+                        .put(taskId, document.frequencies()[i]);
+            }
+        }
+
+        /**
+         * @return whether the partition is now empty
+         */
+        boolean remove(Long taskId, Document document) {
+            for (String term : document.terms()) {
+                Map<Long, Double> termPostings = postings.get(term);
+                if (termPostings != null) {
+                    termPostings.remove(taskId);
+                    if (termPostings.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            return postings.isEmpty();
+        }
+    }
+}
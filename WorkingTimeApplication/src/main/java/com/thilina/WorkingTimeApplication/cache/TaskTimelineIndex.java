@@ -0,0 +1,124 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.dto.TaskTimelineItem;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.model.Task;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.util.interval.TimeIntervalTree;
+import com.thilina.WorkingTimeApplication.util.transaction.PrimaryRead;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory interval tree over approved tasks, used to serve timeline (Gantt) panning
+ * without touching the database.
+ *
+ * The entry map is loaded from the database on first use and then kept current by
+ * TaskServiceImpl after each commit. Readers work on an immutable tree snapshot that is
+ * rebuilt lazily after a change, so queries never take a lock on the hot path. The load
+ * reads the primary (see {@link PrimaryRead}).
+ */
+@Slf4j
+@Component
+public class TaskTimelineIndex {
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate primaryRead;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private boolean loaded;
+    private volatile TimeIntervalTree<Entry> snapshot;
+
+    public TaskTimelineIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.primaryRead = PrimaryRead.template(transactionManager);
+    }
+
+    public List<TaskTimelineItem> findForCreator(Long userId, LocalDateTime from, LocalDateTime to) {
+        return currentSnapshot().query(from, to).stream()
+                .filter(entry -> entry.createdById().equals(userId))
+                .map(Entry::item)
+                .toList();
+    }
+
+    public List<TaskTimelineItem> findForAssignee(Long userId, LocalDateTime from, LocalDateTime to) {
+        return currentSnapshot().query(from, to).stream()
+                .filter(entry -> userId.equals(entry.item().getAssignedToId()))
+                .map(Entry::item)
+                .toList();
+    }
+
+    /**
+     * Add, refresh or drop a task depending on whether it is currently an approved, scheduled task.
+     * Changes made before the first load are ignored, since the load reads committed state.
+     */
+    public synchronized void upsert(Task task) {
+        if (!loaded) {
+            return;
+        }
+        if (isScheduled(task)) {
+            entries.put(task.getId(), toEntry(task));
+        } else {
+            entries.remove(task.getId());
+        }
+        snapshot = null;
+    }
+
+    public synchronized void remove(Long taskId) {
+        if (loaded && entries.remove(taskId) != null) {
+            snapshot = null;
+        }
+    }
+
+    private TimeIntervalTree<Entry> currentSnapshot() {
+        TimeIntervalTree<Entry> current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    private synchronized TimeIntervalTree<Entry> rebuild() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        if (!loaded) {
+            primaryRead.executeWithoutResult(status -> taskRepository.findWithUsersByStatus(TaskStatus.APPROVED)
+                    .stream()
+                    .filter(this::isScheduled)
+                    .forEach(task -> entries.put(task.getId(), toEntry(task))));
+            loaded = true;
+            log.info("Timeline index loaded with {} approved tasks", entries.size());
+        }
+
+        snapshot = TimeIntervalTree.build(entries.values(),
+                entry -> entry.item().getStartDateTime(),
+                entry -> entry.item().getEndDateTime());
+        return snapshot;
+    }
+
+    private boolean isScheduled(Task task) {
+        return task.getStatus() == TaskStatus.APPROVED
+                && task.getStartDateTime() != null
+                && task.getEndDateTime() != null;
+    }
+
+    private Entry toEntry(Task task) {
+        return new Entry(task.getCreatedBy().getId(), new TaskTimelineItem(
+                task.getId(),
+                task.getTitle(),
+                task.getAssignedTo() != null ? task.getAssignedTo().getId() : null,
+                task.getAssignedTo() != null ? task.getAssignedTo().getUsername() : null,
+                task.getStartDateTime(),
+                task.getEndDateTime()
+        ));
+    }
+
+    private record Entry(Long createdById, TaskTimelineItem item) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Accounts loaded for authentication, bounded in size and kept for a fixed time.
+ *
+ * Consulted by CustomUserDetailsService rather than handed to DaoAuthenticationProvider:
+ * the provider re-checks a failed password against a freshly loaded user whenever the
+ * cached one was used, which doubles the BCrypt work of every failed login. Writers evict
+ * after commit when a password or role changes; the TTL bounds any change made elsewhere.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${auth.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, UserDetails> users;
+
+    @PostConstruct
+    void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return users.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+}
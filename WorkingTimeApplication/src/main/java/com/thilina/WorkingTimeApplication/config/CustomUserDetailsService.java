@@ -1,30 +1,41 @@
 package com.thilina.WorkingTimeApplication.config;
 
+import com.thilina.WorkingTimeApplication.cache.UserDetailsCache;
 import com.thilina.WorkingTimeApplication.model.User;
 import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import com.thilina.WorkingTimeApplication.util.transaction.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.Collections;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom UserDetailsService implementation
- * Loads user details from database for authentication
+ * Loads user details from database for authentication, and stores the rehashed
+ * password when a login finds a hash made with another BCrypt cost
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
+    /**
+     * Served from the UserDetailsCache when the account was loaded recently
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.getUserFromCache(username);
+        if (cached != null) {
+            return cached;
+        }
+
         log.debug("Loading user by username: {}", username);
 
         User user = userRepository.findByUsername(username)
@@ -34,16 +45,27 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         log.debug("User found: {} with role: {}", username, user.getRole());
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-                ))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        UserAccountDetails account = new UserAccountDetails(
+                user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+        userDetailsCache.putUserInCache(account);
+        return account;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "User not found with username: " + userDetails.getUsername()
+                ));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+
+        String username = user.getUsername();
+        AfterCommit.run(() -> userDetailsCache.removeUserFromCache(username));
+
+        log.info("Rehashed password of user {} with the configured BCrypt cost", username);
+
+        return new UserAccountDetails(user.getId(), username, newPassword, user.getRole());
     }
 }
@@ -13,6 +13,18 @@ import java.io.IOException;
 
 @Component
 public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final String EXPORT_PATH = "/api/tasks/export";
+    private static final String BULK_REGISTRATION_PATH = "/api/users/engineers/bulk";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Exports are streamed; caching the whole body just to log it would defeat that.
+        // Bulk registrations carry plain-text passwords, which must never reach the log.
+        String uri = request.getRequestURI();
+        return uri.startsWith(EXPORT_PATH) || uri.startsWith(BULK_REGISTRATION_PATH);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -0,0 +1,40 @@
+package com.thilina.WorkingTimeApplication.config;
+
+import com.thilina.WorkingTimeApplication.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The authenticated account as loaded for a login: enough to issue a token without
+ * looking the user up again.
+ *
+ * Deliberately not a CredentialsContainer. The same instance is kept in the
+ * UserDetailsCache, and the ProviderManager erases the credentials of every
+ * CredentialsContainer principal after authentication, which would blank the cached hash.
+ */
+public record UserAccountDetails(Long id, String username, String password, Role role) implements UserDetails {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "UserAccountDetails[id=" + id + ", username=" + username + ", role=" + role + "]";
+    }
+}
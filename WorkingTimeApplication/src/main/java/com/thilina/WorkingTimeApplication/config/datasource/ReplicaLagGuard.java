@@ -0,0 +1,67 @@
+package com.thilina.WorkingTimeApplication.config.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes on top of asynchronous replicas.
+ *
+ * Services record a write after it commits, for every user whose view it changed. For the
+ * following read-your-writes window those users read from the primary even inside read-only
+ * transactions, so a replica that is still catching up can never serve them data older than
+ * their own change (or cache it under the version the change just bumped). Writes that change
+ * what everyone sees, such as settings, pin all reads for the window.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    @Value("${datasource.replica.read-your-writes-ms:2000}")
+    private long readYourWritesMillis;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private volatile long globalPinnedUntil;
+
+    /**
+     * Null entries (such as the assignee of an unassigned task) are skipped
+     */
+    public void recordWrite(Collection<String> usernames) {
+        long until = System.currentTimeMillis() + readYourWritesMillis;
+        usernames.stream()
+                .filter(Objects::nonNull)
+                .forEach(username -> pinnedUntil.merge(username, until, Math::max));
+        if (pinnedUntil.size() > PRUNE_THRESHOLD) {
+            long now = System.currentTimeMillis();
+            pinnedUntil.values().removeIf(deadline -> deadline < now);
+        }
+    }
+
+    public void recordGlobalWrite() {
+        globalPinnedUntil = System.currentTimeMillis() + readYourWritesMillis;
+    }
+
+    /**
+     * Whether the current reader must be served by the primary
+     */
+    public boolean requiresPrimary() {
+        long now = System.currentTimeMillis();
+        if (now < globalPinnedUntil) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        Long deadline = pinnedUntil.get(authentication.getName());
+        return deadline != null && now < deadline;
+    }
+}
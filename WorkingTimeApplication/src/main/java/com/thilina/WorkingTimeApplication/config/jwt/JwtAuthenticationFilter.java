@@ -28,6 +28,7 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
@@ -40,28 +41,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
+            if (StringUtils.hasText(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // One verification covers signature, expiry and every claim used below
+                JwtPrincipal principal = jwtUtil.verify(jwt);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    if (jwtUtil.validateToken(jwt, username)) {
-                        String role = jwtUtil.extractRole(jwt);
+                if (principal.sessionId() != null && tokenRevocationList.isRevoked(principal.sessionId())) {
+                    log.debug("Rejected token of revoked session {} for user: {}", principal.sessionId(), principal.username());
+                } else if (principal.username() != null) {
+                    UsernamePasswordAuthenticationToken authenticationToken =
+                            new UsernamePasswordAuthenticationToken(
+                                    principal,
+                                    null,
+                                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role()))
+                            );
 
-                        UsernamePasswordAuthenticationToken authenticationToken =
-                                new UsernamePasswordAuthenticationToken(
-                                        username,
-                                        null,
-                                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                                );
+                    authenticationToken.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
 
-                        authenticationToken.setDetails(
-                                new WebAuthenticationDetailsSource().buildDetails(request)
-                        );
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
 
-                        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-
-                        log.debug("Set Authentication for user: {} with role: {}", username, role);
-                    }
+                    log.debug("Set Authentication for user: {} with role: {}", principal.username(), principal.role());
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,55 @@
+package com.thilina.WorkingTimeApplication.config.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Everything the application needs from a verified token, read once at verification.
+ * Used as the principal of the request's Authentication, so getName() is the username.
+ *
+ * Tokens issued before the user id claim existed have no userId and claims version 0;
+ * tokens issued before sessions were revocable have no sessionId.
+ */
+public record JwtPrincipal(Long userId, String username, String role, int claimsVersion,
+                           Long sessionId, Instant issuedAt, Instant expiresAt) implements Principal {
+
+    static JwtPrincipal of(Claims claims) {
+        Number userId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+        Number claimsVersion = claims.get(JwtUtil.CLAIMS_VERSION_CLAIM, Number.class);
+        return new JwtPrincipal(
+                userId != null ? userId.longValue() : null,
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claimsVersion != null ? claimsVersion.intValue() : 0,
+                sessionId(claims.getId()),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private static Long sessionId(String jti) {
+        try {
+            return jti != null ? Long.valueOf(jti) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether id and role can be trusted without looking the user up
+     */
+    public boolean carriesIdentity() {
+        return userId != null && role != null && claimsVersion == JwtUtil.CLAIMS_VERSION;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,91 +1,160 @@
 package com.thilina.WorkingTimeApplication.config.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * JWT Utility class for token generation and validation
+ *
+ * The signing key and the parser are built once; both are immutable and thread-safe.
+ * {@link #verify} checks a token's signature and expiry exactly once and remembers the
+ * resulting principal until the token expires, keyed by the SHA-256 of the token so the
+ * cache never holds bearer credentials.
  */
 @Component
 public class JwtUtil {
 
+    /**
+     * Version of the identity claims below. Raising it makes every older token fall back
+     * to a user lookup, e.g. after a change to what the claims mean.
+     */
+    public static final int CLAIMS_VERSION = 1;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String CLAIMS_VERSION_CLAIM = "cv";
+
     @Value("${jwt.secret:myVerySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours default
     private Long expiration;
 
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private long verificationCacheMaxSize;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verificationCacheMaxSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, principal, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     /**
-     * Get signing key from secret
+     * Expiry for a token issued now, so a session can record it before its token is generated
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public Instant nextExpiry() {
+        return Instant.now().plusMillis(expiration);
     }
 
     /**
-     * Generate JWT token for user
+     * Generate JWT token for a user session. The session id becomes the token's jti,
+     * which is what revocation is checked against.
      */
-    public String generateToken(String username, String role) {
+    public String generateToken(Long userId, String username, String role, Long sessionId, Instant expiresAt) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
         claims.put("type", "Bearer");
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(CLAIMS_VERSION_CLAIM, CLAIMS_VERSION);
 
-        return createToken(claims, username);
+        return createToken(claims, username, sessionId, expiresAt);
     }
 
     /**
      * Create token with claims
      */
-    private String createToken(Map<String, Object> claims, String subject) {
-        Date now = new Date();
-        Date expirationDate = new Date(now.getTime() + expiration);
-
+    private String createToken(Map<String, Object> claims, String subject, Long sessionId, Instant expiresAt) {
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(sessionId != null ? sessionId.toString() : null)
                 .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expirationDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(expiresAt))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verify signature and expiry once and return the token's principal.
+     * A token verified before is answered from the cache until it expires.
+     */
+    public JwtPrincipal verify(String token) {
+        String key = hash(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() == null) {
+            throw new RuntimeException("JWT token has no expiration");
+        }
+        JwtPrincipal principal = JwtPrincipal.of(claims);
+        verifiedTokens.put(key, principal);
+        return principal;
+    }
+
     /**
      * Extract username from token
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     /**
      * Extract role from token
      */
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return verify(token).role();
     }
 
     /**
      * Extract expiration date from token
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Extract specific claim from token
-     */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return Date.from(verify(token).expiresAt());
     }
 
     /**
@@ -93,11 +162,7 @@ public class JwtUtil {
      */
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             throw new RuntimeException("JWT token has expired", e);
         } catch (UnsupportedJwtException e) {
@@ -111,25 +176,27 @@ public class JwtUtil {
         }
     }
 
-    /**
-     * Check if token is expired
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     /**
      * Validate token against username
      */
     public Boolean validateToken(String token, String username) {
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            JwtPrincipal principal = verify(token);
+            return principal.username().equals(username) && !principal.isExpired(Instant.now());
         } catch (Exception e) {
             return false;
         }
     }
 
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * Get token expiration time in milliseconds
      */
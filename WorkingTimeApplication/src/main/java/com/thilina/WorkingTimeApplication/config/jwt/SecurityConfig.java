@@ -1,7 +1,9 @@
 package com.thilina.WorkingTimeApplication.config.jwt;
 
 import com.thilina.WorkingTimeApplication.config.CustomUserDetailsService;
+import com.thilina.WorkingTimeApplication.config.password.OffloadingPasswordEncoder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,8 +16,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -38,6 +38,18 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    @Value("${password.hashing.strength:12}")
+    private int passwordStrength;
+
+    @Value("${password.hashing.threads:0}") // 0 = one per available core
+    private int passwordHashingThreads;
+
+    @Value("${password.hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${password.hashing.timeout-ms:5000}")
+    private long passwordHashingTimeoutMillis;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -86,6 +98,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // Rehashes on login when the stored hash was made with another BCrypt cost
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -95,9 +109,16 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    /**
+     * BCrypt on a dedicated bounded pool, so hashing never runs on request threads
+     */
+    @Bean(destroyMethod = "close")
+    public OffloadingPasswordEncoder passwordEncoder() {
+        int threads = passwordHashingThreads > 0
+                ? passwordHashingThreads
+                : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(passwordStrength, threads,
+                passwordHashingQueueCapacity, passwordHashingTimeoutMillis);
     }
 
     @Bean
@@ -0,0 +1,135 @@
+package com.thilina.WorkingTimeApplication.config.jwt;
+
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository;
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository.SessionExpiry;
+import com.thilina.WorkingTimeApplication.util.bloom.LongBloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory list of revoked sessions, checked on every authenticated request.
+ *
+ * Tokens carry their session id as jti. A Bloom filter answers "never revoked" for almost
+ * every token without touching the exact map; only filter hits consult the map of
+ * session id to token expiry. An entry is useless once its token has expired, so expired
+ * entries are dropped and the filter is rebuilt by {@link #compact()}.
+ *
+ * Loaded from user_session at startup and kept current by {@link #refresh()}, which picks
+ * up sessions deactivated by other instances. Revocations made by this instance are
+ * applied directly through {@link #revoke}.
+ *
+ * Both reads run in a read-write transaction so they are served by the primary: a poll
+ * that hit a lagging replica would move its window past rows the replica had not yet
+ * applied, and never look at them again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    private final UserSessionRepository userSessionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    /**
+     * How far each poll looks back behind the start of the previous one. updated_date_time
+     * is stamped with the clock of the instance that deactivated the session, before its
+     * transaction commits, so this must cover the clock skew between instances plus the
+     * longest time a deactivation can take to commit.
+     */
+    @Value("${jwt.revocation.refresh-overlap-seconds:60}")
+    private long refreshOverlapSeconds;
+
+    private final Map<Long, Long> expiresAtBySession = new ConcurrentHashMap<>();
+    private volatile LongBloomFilter filter;
+    private LocalDateTime lastRefresh;
+
+    @PostConstruct
+    void load() {
+        LocalDateTime now = LocalDateTime.now();
+        filter = LongBloomFilter.create(expectedEntries, falsePositiveProbability);
+        List<SessionExpiry> revoked = transactionTemplate.execute(status -> userSessionRepository.findRevoked(now));
+        revoked.forEach(session -> revoke(session.getId(), session.getExpiresDateTime()));
+        lastRefresh = now;
+        log.info("Loaded {} revoked sessions", revoked.size());
+    }
+
+    /**
+     * Whether the session behind a token has been revoked
+     */
+    public boolean isRevoked(long sessionId) {
+        if (!filter.mightContain(sessionId)) {
+            return false;
+        }
+        Long expiresAt = expiresAtBySession.get(sessionId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Revoke a session until its token expires. Sessions without an expiry never issued
+     * a token with a jti and are ignored.
+     */
+    public void revoke(Long sessionId, LocalDateTime expiresDateTime) {
+        if (sessionId == null || expiresDateTime == null) {
+            return;
+        }
+        long expiresAt = expiresDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        // Map first: a concurrent reader that sees the filter bits also finds the entry
+        expiresAtBySession.put(sessionId, expiresAt);
+        filter.add(sessionId);
+    }
+
+    /**
+     * Pick up sessions deactivated since the previous refresh
+     */
+    public synchronized void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh.minusSeconds(refreshOverlapSeconds);
+        List<SessionExpiry> revoked = transactionTemplate.execute(
+                status -> userSessionRepository.findRevokedSince(since, now));
+        revoked.forEach(session -> revoke(session.getId(), session.getExpiresDateTime()));
+        lastRefresh = now;
+        log.debug("Revocation refresh found {} sessions", revoked.size());
+    }
+
+    /**
+     * Drop entries whose token has expired and rebuild the filter from the rest,
+     * which also clears the false positives they caused
+     */
+    public synchronized void compact() {
+        long now = System.currentTimeMillis();
+        int before = expiresAtBySession.size();
+        expiresAtBySession.values().removeIf(expiresAt -> expiresAt <= now);
+
+        LongBloomFilter rebuilt = LongBloomFilter.create(
+                Math.max(expectedEntries, expiresAtBySession.size() * 2), falsePositiveProbability);
+        expiresAtBySession.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // Revocations that raced with the rebuild set their bits in the old filter only
+        expiresAtBySession.keySet().forEach(rebuilt::add);
+
+        log.info("Revocation list compacted from {} to {} sessions", before, expiresAtBySession.size());
+    }
+
+    public int size() {
+        return expiresAtBySession.size();
+    }
+}
@@ -0,0 +1,194 @@
+package com.thilina.WorkingTimeApplication.config.password;
+
+import com.thilina.WorkingTimeApplication.dto.PasswordHashingStatistics;
+import com.thilina.WorkingTimeApplication.util.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that runs every hash and verification on a small dedicated pool.
+ *
+ * One BCrypt call at cost 12 burns about 250 ms of CPU. Running it on request threads
+ * lets a login storm take every core away from the task APIs; here at most one hash per
+ * pool thread runs at a time, a bounded queue absorbs short bursts, and anything beyond
+ * that is rejected at once with {@link ServiceUnavailableException} (503) instead of
+ * queueing behind minutes of work.
+ *
+ * The timeout bounds the wait in the queue only. A BCrypt call cannot be interrupted, so a
+ * request whose hash has started waits for it to finish; one still queued when the timeout
+ * passes is taken off the queue, never runs, and counts as timed out.
+ *
+ * {@link #upgradeEncoding} reports hashes made with a different cost than the configured
+ * one, so a successful login rehashes the password (see CustomUserDetailsService).
+ */
+@Slf4j
+public class OffloadingPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    /**
+     * Requests dropped from the queue because no thread picked them up within the timeout
+     */
+    private final LongAdder timedOutCount = new LongAdder();
+
+    public OffloadingPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMillis) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing on {} threads, queue capacity {}, BCrypt cost {}", threads, queueCapacity, strength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True for BCrypt hashes whose cost differs from the configured one, in either direction
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T offload(Callable<T> hash) {
+        long submittedAt = System.nanoTime();
+        // Claimed by the pool thread that starts the hash, or by the caller that gives up first
+        AtomicBoolean claimed = new AtomicBoolean();
+        FutureTask<T> task = new FutureTask<>(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            long startedAt = System.nanoTime();
+            waitNanos.add(startedAt - submittedAt);
+            try {
+                return hash.call();
+            } finally {
+                record(System.nanoTime() - startedAt);
+            }
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new ServiceUnavailableException("PASSWORD_HASHING_BUSY",
+                    "Too many sign-in requests, please retry shortly");
+        }
+
+        try {
+            try {
+                return task.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (drop(task, claimed)) {
+                    timedOutCount.increment();
+                    throw new ServiceUnavailableException("PASSWORD_HASHING_BUSY",
+                            "Too many sign-in requests, please retry shortly");
+                }
+                // Already hashing; giving up now would not give the thread back any sooner
+                return task.get();
+            }
+        } catch (InterruptedException e) {
+            // The result is not needed; a hash already running completes and is discarded
+            drop(task, claimed);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("PASSWORD_HASHING_INTERRUPTED", "Password check was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Take a task off the queue if no thread has started it yet
+     */
+    private boolean drop(FutureTask<?> task, AtomicBoolean claimed) {
+        if (!claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        task.cancel(false);
+        executor.remove(task);
+        return true;
+    }
+
+    private void record(long nanos) {
+        hashCount.increment();
+        hashNanos.add(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Hashes that can run at once
+     */
+    public int threads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public PasswordHashingStatistics statistics() {
+        long count = hashCount.sum();
+        return PasswordHashingStatistics.builder()
+                .strength(strength)
+                .threads(executor.getMaximumPoolSize())
+                .activeThreads(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(executor.getQueue().size() + executor.getQueue().remainingCapacity())
+                .hashCount(count)
+                .rejectedCount(rejectedCount.sum())
+                .timedOutCount(timedOutCount.sum())
+                .averageHashMillis(count > 0 ? hashNanos.sum() / 1e6 / count : null)
+                .maxHashMillis(maxHashNanos.get() / 1e6)
+                .averageQueueWaitMillis(count > 0 ? waitNanos.sum() / 1e6 / count : null)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,84 @@
+package com.thilina.WorkingTimeApplication.config.ratelimit;
+
+import com.thilina.WorkingTimeApplication.util.exception.TooManyRequestsException;
+import com.thilina.WorkingTimeApplication.util.ratelimit.GcraRateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login and registration attempts per client IP and per username.
+ *
+ * Checked by AuthController before the service runs, so a rejected attempt costs no user
+ * query and no BCrypt work. The IP limit bounds one client spraying many usernames; the
+ * username limit bounds a distributed guess at one account. Both are in-memory and per
+ * instance.
+ *
+ * The client IP is the request's remote address. Behind a proxy, set
+ * server.forward-headers-strategy so it reflects the original client.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    @Value("${auth.rate-limit.ip.burst:60}")
+    private int ipBurst;
+
+    @Value("${auth.rate-limit.ip.period-seconds:60}")
+    private long ipPeriodSeconds;
+
+    @Value("${auth.rate-limit.username.burst:5}")
+    private int usernameBurst;
+
+    @Value("${auth.rate-limit.username.period-seconds:60}")
+    private long usernamePeriodSeconds;
+
+    @Value("${auth.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    private GcraRateLimiter byIp;
+    private GcraRateLimiter byUsername;
+
+    @PostConstruct
+    void init() {
+        byIp = new GcraRateLimiter(ipBurst, Duration.ofSeconds(ipPeriodSeconds), maxKeys);
+        byUsername = new GcraRateLimiter(usernameBurst, Duration.ofSeconds(usernamePeriodSeconds), maxKeys);
+    }
+
+    /**
+     * Count a login attempt against the client and the account
+     */
+    public void checkLogin(HttpServletRequest request, String username) {
+        checkIp(request);
+        if (username != null) {
+            check(byUsername, username.trim().toLowerCase(Locale.ROOT), "username");
+        }
+    }
+
+    /**
+     * Count a registration attempt against the client
+     */
+    public void checkRegister(HttpServletRequest request) {
+        checkIp(request);
+    }
+
+    private void checkIp(HttpServletRequest request) {
+        check(byIp, request.getRemoteAddr(), "client");
+    }
+
+    private void check(GcraRateLimiter limiter, String key, String keyType) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.debug("Rate limited authentication attempt for {} {}", keyType, key);
+            throw new TooManyRequestsException("TOO_MANY_ATTEMPTS",
+                    "Too many attempts, retry in " + retryAfterSeconds + " seconds", retryAfterSeconds);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.thilina.WorkingTimeApplication.controller;
 
+import com.thilina.WorkingTimeApplication.config.ratelimit.LoginRateLimiter;
 import com.thilina.WorkingTimeApplication.dto.AuthRequest;
 import com.thilina.WorkingTimeApplication.dto.AuthResponse;
 import com.thilina.WorkingTimeApplication.dto.RegisterRequest;
 import com.thilina.WorkingTimeApplication.service.AuthService;
 import com.thilina.WorkingTimeApplication.util.response.SuccessResponseWrapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
      * Login endpoint for both PM and Engineer
@@ -26,7 +29,8 @@ public class AuthController {
      */
     @PostMapping(path = "/login")
     public ResponseEntity<SuccessResponseWrapper<AuthResponse>> login(
-            @Validated @RequestBody AuthRequest request) {
+            @Validated @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        loginRateLimiter.checkLogin(httpRequest, request.getUsername());
         AuthResponse authResponse = authService.login(request);
         return new ResponseEntity<>(new SuccessResponseWrapper<>(authResponse), HttpStatus.ACCEPTED);
     }
@@ -37,7 +41,8 @@ public class AuthController {
      */
     @PostMapping(path = "/register")
     public ResponseEntity<SuccessResponseWrapper<AuthResponse>> register(
-            @Validated @RequestBody RegisterRequest request) {
+            @Validated @RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
+        loginRateLimiter.checkRegister(httpRequest);
         AuthResponse authResponse = authService.register(request);
         return new ResponseEntity<>(new SuccessResponseWrapper<>(authResponse), HttpStatus.CREATED);
     }
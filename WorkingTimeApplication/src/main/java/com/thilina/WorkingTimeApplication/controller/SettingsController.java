@@ -1,11 +1,18 @@
 package com.thilina.WorkingTimeApplication.controller;
 
+import com.thilina.WorkingTimeApplication.cache.ResourceVersionRegistry;
+import com.thilina.WorkingTimeApplication.cache.SecondLevelCache;
+import com.thilina.WorkingTimeApplication.config.password.OffloadingPasswordEncoder;
+import com.thilina.WorkingTimeApplication.dto.CacheStatisticsResponse;
 import com.thilina.WorkingTimeApplication.dto.HolidayRequest;
+import com.thilina.WorkingTimeApplication.dto.PasswordHashingStatistics;
 import com.thilina.WorkingTimeApplication.dto.WorkingHoursRequest;
+import com.thilina.WorkingTimeApplication.model.BaseEntity;
 import com.thilina.WorkingTimeApplication.model.OneTimeHoliday;
 import com.thilina.WorkingTimeApplication.model.RecurringHoliday;
 import com.thilina.WorkingTimeApplication.model.WorkingHours;
 import com.thilina.WorkingTimeApplication.service.SettingsService;
+import com.thilina.WorkingTimeApplication.util.response.ConditionalResponses;
 import com.thilina.WorkingTimeApplication.util.response.SuccessResponseWrapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -13,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,6 +32,9 @@ import java.util.List;
 public class SettingsController {
 
     private final SettingsService settingsService;
+    private final ResourceVersionRegistry resourceVersionRegistry;
+    private final SecondLevelCache secondLevelCache;
+    private final OffloadingPasswordEncoder passwordEncoder;
 
     // ========================================================================
     // WORKING HOURS ENDPOINTS
@@ -58,11 +69,18 @@ public class SettingsController {
     /**
      * Get current working hours configuration
      * GET /api/settings/working-hours
+     *
+     * Supports If-None-Match against the settings version.
      */
     @GetMapping("/working-hours")
-    public ResponseEntity<SuccessResponseWrapper<WorkingHours>> getWorkingHours() {
+    public ResponseEntity<SuccessResponseWrapper<WorkingHours>> getWorkingHours(WebRequest webRequest) {
+        String eTag = resourceVersionRegistry.settingsETag("working-hours");
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         WorkingHours workingHours = settingsService.getWorkingHours();
-        return new ResponseEntity<>(new SuccessResponseWrapper<>(workingHours), HttpStatus.OK);
+        return ConditionalResponses.ok(workingHours, eTag, workingHours.getUpdatedDateTime());
     }
 
     // ========================================================================
@@ -91,22 +109,37 @@ public class SettingsController {
     /**
      * Get all recurring holidays
      * GET /api/settings/recurring-holidays
+     *
+     * Supports If-None-Match against the settings version.
      */
     @GetMapping("/recurring-holidays")
-    public ResponseEntity<SuccessResponseWrapper<List<RecurringHoliday>>> getAllRecurringHolidays() {
+    public ResponseEntity<SuccessResponseWrapper<List<RecurringHoliday>>> getAllRecurringHolidays(WebRequest webRequest) {
+        String eTag = resourceVersionRegistry.settingsETag("recurring-holidays");
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<RecurringHoliday> holidays = settingsService.getAllRecurringHolidays();
-        return new ResponseEntity<>(new SuccessResponseWrapper<>(holidays), HttpStatus.OK);
+        return ConditionalResponses.ok(holidays, eTag, ConditionalResponses.latest(holidays, BaseEntity::getUpdatedDateTime));
     }
 
     /**
      * Get a specific recurring holiday by ID
      * GET /api/settings/recurring-holidays/{id}
+     *
+     * Supports If-None-Match against the settings version.
      */
     @GetMapping("/recurring-holidays/{id}")
     public ResponseEntity<SuccessResponseWrapper<RecurringHoliday>> getRecurringHolidayById(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        String eTag = resourceVersionRegistry.settingsETag("recurring-holiday-" + id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         RecurringHoliday holiday = settingsService.getRecurringHolidayById(id);
-        return new ResponseEntity<>(new SuccessResponseWrapper<>(holiday), HttpStatus.OK);
+        return ConditionalResponses.ok(holiday, eTag, holiday.getUpdatedDateTime());
     }
 
     /**
@@ -145,22 +178,37 @@ public class SettingsController {
     /**
      * Get all one-time holidays
      * GET /api/settings/one-time-holidays
+     *
+     * Supports If-None-Match against the settings version.
      */
     @GetMapping("/one-time-holidays")
-    public ResponseEntity<SuccessResponseWrapper<List<OneTimeHoliday>>> getAllOneTimeHolidays() {
+    public ResponseEntity<SuccessResponseWrapper<List<OneTimeHoliday>>> getAllOneTimeHolidays(WebRequest webRequest) {
+        String eTag = resourceVersionRegistry.settingsETag("one-time-holidays");
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<OneTimeHoliday> holidays = settingsService.getAllOneTimeHolidays();
-        return new ResponseEntity<>(new SuccessResponseWrapper<>(holidays), HttpStatus.OK);
+        return ConditionalResponses.ok(holidays, eTag, ConditionalResponses.latest(holidays, BaseEntity::getUpdatedDateTime));
     }
 
     /**
      * Get a specific one-time holiday by ID
      * GET /api/settings/one-time-holidays/{id}
+     *
+     * Supports If-None-Match against the settings version.
      */
     @GetMapping("/one-time-holidays/{id}")
     public ResponseEntity<SuccessResponseWrapper<OneTimeHoliday>> getOneTimeHolidayById(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        String eTag = resourceVersionRegistry.settingsETag("one-time-holiday-" + id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         OneTimeHoliday holiday = settingsService.getOneTimeHolidayById(id);
-        return new ResponseEntity<>(new SuccessResponseWrapper<>(holiday), HttpStatus.OK);
+        return ConditionalResponses.ok(holiday, eTag, holiday.getUpdatedDateTime());
     }
 
     /**
@@ -184,5 +232,26 @@ public class SettingsController {
         ids.forEach(settingsService::deleteOneTimeHoliday);
         return new ResponseEntity<>(new SuccessResponseWrapper<>(ids.size() + " holidays deleted successfully"), HttpStatus.ACCEPTED);
     }
-}
 
+    // ========================================================================
+    // CACHE ENDPOINTS
+    // ========================================================================
+
+    /**
+     * Hit ratios of the second-level cache and query cache, overall and per region
+     * GET /api/settings/cache-statistics
+     */
+    @GetMapping("/cache-statistics")
+    public ResponseEntity<SuccessResponseWrapper<CacheStatisticsResponse>> getCacheStatistics() {
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(secondLevelCache.statistics()), HttpStatus.OK);
+    }
+
+    /**
+     * Queue depth, rejections and latency of the password hashing pool
+     * GET /api/settings/password-hashing-statistics
+     */
+    @GetMapping("/password-hashing-statistics")
+    public ResponseEntity<SuccessResponseWrapper<PasswordHashingStatistics>> getPasswordHashingStatistics() {
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(passwordEncoder.statistics()), HttpStatus.OK);
+    }
+}
@@ -1,16 +1,29 @@
 package com.thilina.WorkingTimeApplication.controller;
 
+import com.thilina.WorkingTimeApplication.cache.ResourceVersionRegistry;
+import com.thilina.WorkingTimeApplication.cache.TaskListResponseCache;
 import com.thilina.WorkingTimeApplication.dto.*;
+import com.thilina.WorkingTimeApplication.enums.ExportFormat;
+import com.thilina.WorkingTimeApplication.service.TaskExportService;
 import com.thilina.WorkingTimeApplication.service.TaskService;
+import com.thilina.WorkingTimeApplication.util.response.ConditionalResponses;
 import com.thilina.WorkingTimeApplication.util.response.SuccessResponseWrapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -19,6 +32,9 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final ResourceVersionRegistry resourceVersionRegistry;
+    private final TaskListResponseCache taskListResponseCache;
 
     /**
      * Create a new task (PM only)
@@ -48,20 +64,183 @@ public class TaskController {
      *
      * - PM: Returns all tasks they created
      * - Engineer: Returns only tasks assigned to them
+     *
+     * The serialized list is cached per user until one of their tasks changes.
+     * Supports If-None-Match: an unchanged list is answered with 304 without querying.
      */
     @GetMapping
-    public ResponseEntity<SuccessResponseWrapper<List<TaskResponse>>> getTasksForUser(
-            Authentication authentication) {
+    public ResponseEntity<byte[]> getTasksForUser(
+            Authentication authentication,
+            WebRequest webRequest) {
 
         String username = authentication.getName();
+        long version = resourceVersionRegistry.taskVersion(username);
+        String eTag = resourceVersionRegistry.taskListETag(version);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         String role = authentication.getAuthorities().stream()
                 .findFirst()
                 .map(GrantedAuthority::getAuthority)
                 .orElse("");
 
-        List<TaskResponse> tasks = taskService.getTasksForUser(username, role);
+        TaskListResponseCache.Entry tasks = taskListResponseCache.get(username, version,
+                () -> taskService.getTasksForUser(username, role));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag);
+        if (tasks.lastModified() != null) {
+            response.lastModified(tasks.lastModified().atZone(ZoneId.systemDefault()));
+        }
+        return response.body(tasks.body());
+    }
+
+    /**
+     * Get dashboard summary for the authenticated user
+     * GET /api/tasks/summary
+     *
+     * Returns per-status counts and estimate totals plus the number of overdue tasks,
+     * aggregated in the database.
+     * - PM: Tasks they created
+     * - Engineer: Tasks assigned to them
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<SuccessResponseWrapper<TaskSummaryResponse>> getTaskSummary(
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        TaskSummaryResponse summary = taskService.getTaskSummary(username);
+
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(summary), HttpStatus.OK);
+    }
+
+    /**
+     * Search the authenticated user's tasks by title and description
+     * GET /api/tasks/search?q=login+api&limit=20
+     *
+     * Results are ranked by relevance, with title matches weighted above description matches.
+     * - PM: Tasks they created
+     * - Engineer: Tasks assigned to them
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SuccessResponseWrapper<List<TaskSearchResult>>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        List<TaskSearchResult> results = taskService.searchTasks(username, q, limit);
+
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(results), HttpStatus.OK);
+    }
 
-        return new ResponseEntity<>(new SuccessResponseWrapper<>(tasks), HttpStatus.OK);
+    /**
+     * Get the tasks scheduled within a viewing window, for the Gantt chart
+     * GET /api/tasks/timeline?from=2024-05-01T00:00:00&to=2024-06-01T00:00:00
+     *
+     * Returns every task whose [startDateTime, endDateTime) overlaps [from, to).
+     * With inMemory=true the window is answered from an interval tree over approved
+     * tasks instead of the database, which keeps chart panning cheap on large projects.
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<SuccessResponseWrapper<List<TaskTimelineItem>>> getTimeline(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean inMemory,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        List<TaskTimelineItem> timeline = taskService.getTimeline(username, from, to, inMemory);
+
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(timeline), HttpStatus.OK);
+    }
+
+    /**
+     * Get the tasks created, updated or removed since a sync cursor
+     * GET /api/tasks/changes?since=1716192000000
+     *
+     * Without since the full task list is returned. Pass back nextCursor on the following call;
+     * deletedIds lists tasks that were deleted or reassigned away from the caller. A cursor older
+     * than task.sync.tombstone-retention-days is answered with 410 SYNC_RESYNC_REQUIRED; drop the
+     * local list and sync again without since.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<SuccessResponseWrapper<TaskChangesResponse>> getChanges(
+            @RequestParam(required = false) String since,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        TaskChangesResponse changes = taskService.getChanges(username, since);
+
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(changes), HttpStatus.OK);
+    }
+
+    /**
+     * Get archived (long-completed) tasks for the authenticated user, newest first
+     * GET /api/tasks/archive?page=0&size=20
+     *
+     * Approved tasks are moved here by the archive job once they are older than the
+     * configured age, so they no longer appear in the live task endpoints.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<SuccessResponseWrapper<PagedResponse<TaskResponse>>> getArchivedTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        PagedResponse<TaskResponse> archived = taskService.getArchivedTasks(username, page, size);
+
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(archived), HttpStatus.OK);
+    }
+
+    /**
+     * Export all tasks for the authenticated user
+     * GET /api/tasks/export?format=ndjson|csv
+     *
+     * Rows are streamed from a database cursor straight into the response,
+     * so memory use does not grow with the number of tasks.
+     */
+    @GetMapping("/export")
+    public void exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"");
+
+        taskExportService.exportTasks(authentication.getName(), exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Move open tasks from one engineer to another in one statement (PM only)
+     * PUT /api/tasks/reassign
+     *
+     * Request Body:
+     * {
+     *   "fromEngineerId": 2,
+     *   "toEngineerId": 3,
+     *   "taskIds": [4, 7]
+     * }
+     *
+     * Without taskIds every non-approved task of the PM assigned to fromEngineerId is moved.
+     */
+    @PutMapping("/reassign")
+    public ResponseEntity<SuccessResponseWrapper<BulkReassignResponse>> reassignTasks(
+            @Validated @RequestBody BulkReassignRequest request,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        BulkReassignResponse response = taskService.reassignTasks(request, username);
+
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(response), HttpStatus.ACCEPTED);
     }
 
     /**
@@ -70,16 +249,27 @@ public class TaskController {
      *
      * Engineers can only view their assigned tasks
      * PMs can view all their created tasks
+     *
+     * Supports If-None-Match: once access is checked against the task's owners, an unchanged
+     * task is answered with 304 without loading it.
      */
     @GetMapping("/{id}")
     public ResponseEntity<SuccessResponseWrapper<TaskResponse>> getTaskById(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
 
         String username = authentication.getName();
+        // ETags are guessable, so a 304 must not answer anyone who may not see the task
+        taskService.checkTaskAccess(id, username);
+        String eTag = resourceVersionRegistry.taskETag(username, id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         TaskResponse task = taskService.getTaskById(id, username);
 
-        return new ResponseEntity<>(new SuccessResponseWrapper<>(task), HttpStatus.OK);
+        return ConditionalResponses.ok(task, eTag, task.getUpdatedAt());
     }
 
     /**
@@ -159,5 +349,22 @@ public class TaskController {
 
         return new ResponseEntity<>(new SuccessResponseWrapper<>("Task deleted successfully"), HttpStatus.ACCEPTED);
     }
-}
 
+    /**
+     * Bulk delete tasks (PM only)
+     * DELETE /api/tasks
+     *
+     * Request Body: [4, 7, 9]
+     * Tasks are marked deleted in one statement and purged later in the background.
+     */
+    @DeleteMapping
+    public ResponseEntity<SuccessResponseWrapper<String>> deleteTasks(
+            @RequestBody List<Long> ids,
+            Authentication authentication) {
+
+        String username = authentication.getName();
+        int deleted = taskService.deleteTasks(ids, username);
+
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(deleted + " tasks deleted successfully"), HttpStatus.ACCEPTED);
+    }
+}
@@ -1,16 +1,24 @@
 package com.thilina.WorkingTimeApplication.controller;
 
 
+import com.thilina.WorkingTimeApplication.dto.BulkRegistrationResponse;
+import com.thilina.WorkingTimeApplication.dto.PagedResponse;
+import com.thilina.WorkingTimeApplication.dto.RegisterRequest;
 import com.thilina.WorkingTimeApplication.dto.UserResponse;
+import com.thilina.WorkingTimeApplication.service.EngineerOnboardingService;
 import com.thilina.WorkingTimeApplication.service.UserService;
 import com.thilina.WorkingTimeApplication.util.response.SuccessResponseWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -22,6 +30,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final EngineerOnboardingService engineerOnboardingService;
 
     /**
      * Fetch all engineers
@@ -34,4 +43,49 @@ public class UserController {
         return new ResponseEntity<>(new SuccessResponseWrapper<>(engineers), HttpStatus.OK);
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Page through engineers whose username, first name, last name or full name starts with q,
+     * ordered by username; without q every engineer is listed. Served from memory.
+     * GET /api/users/engineers/directory?q=jo&page=0&size=20
+     */
+    @GetMapping("/engineers/directory")
+    @PreAuthorize("hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<SuccessResponseWrapper<PagedResponse<UserResponse>>> getEngineerDirectory(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PagedResponse<UserResponse> engineers = userService.getEngineerDirectory(q, page, size);
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(engineers), HttpStatus.OK);
+    }
+
+    /**
+     * Register many engineers at once; each row reports its user id or why it was skipped
+     * POST /api/users/engineers/bulk
+     *
+     * Request Body: a JSON array of registration requests
+     */
+    @PostMapping(path = "/engineers/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<SuccessResponseWrapper<BulkRegistrationResponse>> registerEngineers(
+            @RequestBody List<RegisterRequest> requests) {
+        BulkRegistrationResponse response = engineerOnboardingService.registerEngineers(requests);
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(response), HttpStatus.OK);
+    }
+
+    /**
+     * Register many engineers at once from CSV
+     * POST /api/users/engineers/bulk
+     *
+     * Request Body (text/csv):
+     * username,password,firstName,lastName,email,phoneNo
+     * jdoe,secret,John,Doe,jdoe@example.com,0771234567
+     */
+    @PostMapping(path = "/engineers/bulk", consumes = "text/csv")
+    @PreAuthorize("hasRole('PROJECT_MANAGER')")
+    public ResponseEntity<SuccessResponseWrapper<BulkRegistrationResponse>> registerEngineersFromCsv(
+            @RequestBody String csv) {
+        BulkRegistrationResponse response = engineerOnboardingService.registerEngineersFromCsv(csv);
+        return new ResponseEntity<>(new SuccessResponseWrapper<>(response), HttpStatus.OK);
+    }
+}
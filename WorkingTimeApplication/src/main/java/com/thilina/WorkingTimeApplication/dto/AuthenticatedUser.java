@@ -0,0 +1,13 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import com.thilina.WorkingTimeApplication.enums.Role;
+
+/**
+ * The caller of a request: just enough to authorize and filter by owner
+ */
+public record AuthenticatedUser(Long id, String username, Role role) {
+
+    public boolean isEngineer() {
+        return role == Role.ENGINEER;
+    }
+}
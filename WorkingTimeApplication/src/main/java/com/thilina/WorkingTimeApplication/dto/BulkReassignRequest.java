@@ -0,0 +1,12 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkReassignRequest {
+    private Long fromEngineerId;
+    private Long toEngineerId;
+    private List<Long> taskIds; // optional subset; all open tasks when omitted
+}
@@ -0,0 +1,17 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkReassignResponse {
+    private Long fromEngineerId;
+    private Long toEngineerId;
+    private Integer requestedCount;
+    private Integer reassignedCount;
+    private List<Long> reassignedTaskIds;
+    private List<Long> skippedTaskIds;
+}
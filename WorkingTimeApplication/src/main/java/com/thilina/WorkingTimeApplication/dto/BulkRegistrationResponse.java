@@ -0,0 +1,15 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkRegistrationResponse {
+    private Integer requestedCount;
+    private Integer createdCount;
+    private Integer failedCount;
+    private List<BulkRegistrationResult> results;
+}
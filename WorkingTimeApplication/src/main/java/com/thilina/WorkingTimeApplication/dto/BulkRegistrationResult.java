@@ -0,0 +1,18 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one row of a bulk registration; rows are numbered from 1 in request order,
+ * not counting a CSV header
+ */
+@Data
+@Builder
+public class BulkRegistrationResult {
+    private Integer row;
+    private String username;
+    private Boolean created;
+    private Long userId;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheRegionStatistics {
+    private String region;
+    private Long hitCount;
+    private Long missCount;
+    private Long putCount;
+    private Double hitRatio;
+    private Long elementsInMemory;
+}
@@ -0,0 +1,19 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CacheStatisticsResponse {
+    private Boolean statisticsEnabled;
+    private Long secondLevelCacheHitCount;
+    private Long secondLevelCacheMissCount;
+    private Double secondLevelCacheHitRatio;
+    private Long queryCacheHitCount;
+    private Long queryCacheMissCount;
+    private Double queryCacheHitRatio;
+    private List<CacheRegionStatistics> regions;
+}
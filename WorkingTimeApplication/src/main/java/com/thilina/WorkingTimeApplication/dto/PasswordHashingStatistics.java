@@ -0,0 +1,20 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PasswordHashingStatistics {
+    private Integer strength;
+    private Integer threads;
+    private Integer activeThreads;
+    private Integer queueDepth;
+    private Integer queueCapacity;
+    private Long hashCount;
+    private Long rejectedCount;
+    private Long timedOutCount;
+    private Double averageHashMillis;
+    private Double maxHashMillis;
+    private Double averageQueueWaitMillis;
+}
@@ -0,0 +1,14 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TaskChangesResponse {
+    private List<TaskResponse> upserts;
+    private List<Long> deletedIds;
+    private String nextCursor;
+}
@@ -7,5 +7,6 @@ public class TaskRequest {
     private String title;
     private String description;
     private Long assignedToId;
+    private Boolean autoAssign;
 }
 
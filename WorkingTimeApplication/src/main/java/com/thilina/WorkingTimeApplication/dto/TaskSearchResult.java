@@ -0,0 +1,11 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskSearchResult {
+    private Double score;
+    private TaskResponse task;
+}
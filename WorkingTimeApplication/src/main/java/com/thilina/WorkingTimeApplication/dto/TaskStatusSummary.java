@@ -0,0 +1,22 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class TaskStatusSummary {
+    private String status;
+    private Long taskCount;
+    private Double estimateDays;
+
+    /**
+     * Used by the JPQL constructor expressions in TaskRepository
+     */
+    public TaskStatusSummary(TaskStatus status, Long taskCount, Double estimateDays) {
+        this.status = status != null ? status.name() : null;
+        this.taskCount = taskCount;
+        this.estimateDays = estimateDays != null ? estimateDays : 0.0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TaskSummaryResponse {
+    private Long totalTasks;
+    private Double totalEstimateDays;
+    private Long overdueTasks;
+    private List<TaskStatusSummary> byStatus;
+}
@@ -0,0 +1,19 @@
+package com.thilina.WorkingTimeApplication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskTimelineItem {
+    private Long id;
+    private String title;
+    private Long assignedToId;
+    private String assignedToUsername;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+}
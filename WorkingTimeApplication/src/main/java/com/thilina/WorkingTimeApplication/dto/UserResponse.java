@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -15,4 +17,7 @@ public class UserResponse {
     private String email;
     private String phoneNo;
     private String role;
+    private Long openTaskCount;
+    private Double outstandingEstimateDays;
+    private LocalDateTime scheduledUntil;
 }
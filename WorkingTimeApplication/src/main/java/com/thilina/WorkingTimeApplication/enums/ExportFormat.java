@@ -0,0 +1,27 @@
+package com.thilina.WorkingTimeApplication.enums;
+
+import com.thilina.WorkingTimeApplication.util.exception.ValidationException;
+import lombok.Getter;
+
+@Getter
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new ValidationException("INVALID_EXPORT_FORMAT", "Unsupported export format: " + value);
+    }
+}
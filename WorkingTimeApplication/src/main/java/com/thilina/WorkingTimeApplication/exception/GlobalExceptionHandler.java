@@ -2,6 +2,7 @@ package com.thilina.WorkingTimeApplication.exception;
 
 import com.thilina.WorkingTimeApplication.util.exception.*;
 import com.thilina.WorkingTimeApplication.util.response.FailedResponseWrapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -29,11 +30,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new FailedResponseWrapper(ex.getCode(), ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<FailedResponseWrapper> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new FailedResponseWrapper(ex.getCode(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<FailedResponseWrapper> handleTooManyRequestsException(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new FailedResponseWrapper(ex.getCode(), ex.getMessage()));
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<FailedResponseWrapper> handleResourceNotFoundException(ResourceNotFoundException ex) {
         return new ResponseEntity<>(new FailedResponseWrapper(ex.getCode(), ex.getMessage()), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ResourceGoneException.class)
+    public ResponseEntity<FailedResponseWrapper> handleResourceGoneException(ResourceGoneException ex) {
+        return new ResponseEntity<>(new FailedResponseWrapper(ex.getCode(), ex.getMessage()), HttpStatus.GONE);
+    }
+
     @ExceptionHandler(DuplicateResourceException.class)
     public ResponseEntity<FailedResponseWrapper> handleDuplicateResourceException(DuplicateResourceException ex) {
         return new ResponseEntity<>(new FailedResponseWrapper(ex.getCode(), ex.getMessage()), HttpStatus.CONFLICT);
@@ -0,0 +1,63 @@
+package com.thilina.WorkingTimeApplication.job;
+
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Removes sessions, and their audit rows, once their token has been expired for the
+ * retention period.
+ *
+ * A session is only dropped after its token expired, so every session the revocation list
+ * still needs stays in the table. Deletes run in bounded batches, each in its own short
+ * transaction, like the task purge.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionRetentionJob {
+
+    private final UserSessionRepository userSessionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${session.retention.days:30}")
+    private int retentionDays;
+
+    @Value("${session.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${session.retention.max-batches:1000}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${session.retention.cron:0 45 2 * * *}")
+    public void pruneSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long pruned = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = userSessionRepository.findPrunableIds(cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                userSessionRepository.deleteAudit(ids);
+                return userSessionRepository.prune(ids);
+            });
+            pruned += deleted != null ? deleted : 0;
+            if (deleted == null || deleted < batchSize) {
+                break;
+            }
+        }
+
+        if (pruned > 0) {
+            log.info("Pruned {} sessions expired before {}", pruned, cutoff);
+        }
+    }
+}
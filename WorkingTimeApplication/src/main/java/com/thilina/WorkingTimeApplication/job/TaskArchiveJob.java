@@ -0,0 +1,112 @@
+package com.thilina.WorkingTimeApplication.job;
+
+import com.thilina.WorkingTimeApplication.cache.EngineerAvailabilityQueue;
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkloadCache;
+import com.thilina.WorkingTimeApplication.cache.ResourceVersionRegistry;
+import com.thilina.WorkingTimeApplication.cache.TaskSearchIndex;
+import com.thilina.WorkingTimeApplication.cache.TaskTimelineIndex;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.repository.ArchivedTaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves approved tasks that ended more than task.archive.age-days ago into archived_task.
+ *
+ * Each chunk is copied with INSERT ... SELECT and removed from the live table in the same
+ * short transaction, so a run interrupted at any point resumes cleanly on the next schedule:
+ * every task is either fully live or fully archived. Delta-sync tombstones are written for
+ * the creator and assignee, and the in-memory read models drop the archived tasks.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskArchiveJob {
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskTimelineIndex taskTimelineIndex;
+    private final TaskSearchIndex taskSearchIndex;
+    private final EngineerWorkloadCache engineerWorkloadCache;
+    private final EngineerAvailabilityQueue engineerAvailabilityQueue;
+    private final ResourceVersionRegistry resourceVersionRegistry;
+    private final ReplicaLagGuard replicaLagGuard;
+
+    @Value("${task.archive.age-days:365}")
+    private int ageDays;
+
+    @Value("${task.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${task.archive.max-batches:1000}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${task.archive.cron:0 0 3 * * *}")
+    public void archiveCompletedTasks() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ageDays);
+        long archived = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<TaskRepository.ArchivableTask> moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (moved == null || moved.isEmpty()) {
+                break;
+            }
+
+            replicaLagGuard.recordWrite(moved.stream()
+                    .flatMap(task -> Stream.of(task.getCreatedByUsername(), task.getAssignedToUsername()))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+            moved.forEach(task -> {
+                taskTimelineIndex.remove(task.getId());
+                taskSearchIndex.remove(task.getId());
+                resourceVersionRegistry.bumpTasks(task.getCreatedByUsername());
+                resourceVersionRegistry.bumpTasks(task.getAssignedToUsername());
+            });
+            archived += moved.size();
+
+            if (moved.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            // The latest approved end per engineer may have been archived
+            engineerWorkloadCache.invalidate();
+            engineerAvailabilityQueue.invalidate();
+            log.info("Archived {} approved tasks that ended before {}", archived, cutoff);
+        }
+    }
+
+    private List<TaskRepository.ArchivableTask> archiveBatch(LocalDateTime cutoff) {
+        List<TaskRepository.ArchivableTask> tasks =
+                taskRepository.findArchivable(TaskStatus.APPROVED, cutoff, PageRequest.of(0, batchSize));
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+
+        List<Long> ids = tasks.stream().map(TaskRepository.ArchivableTask::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        archivedTaskRepository.copyFromTasks(ids, now);
+        taskTombstoneRepository.insertForCreators(ids, now);
+        taskTombstoneRepository.insertForAssignees(ids, now);
+        taskRepository.deleteArchived(ids);
+        return tasks;
+    }
+}
@@ -0,0 +1,86 @@
+package com.thilina.WorkingTimeApplication.job;
+
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Physically removes soft-deleted tasks once they are past the retention period, and
+ * tombstones once they are older than the longest sync gap TaskServiceImpl.getChanges
+ * accepts; clients with an older cursor are told to resync instead.
+ *
+ * Runs off-peak and deletes in bounded batches, each in its own short transaction,
+ * so row locks are held only for one batch at a time and request traffic is never
+ * blocked behind a large sweep.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskPurgeJob {
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${task.purge.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${task.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    @Value("${task.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${task.purge.max-batches:1000}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${task.purge.cron:0 30 2 * * *}")
+    public void purgeDeletedTasks() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long purged = inBatches(() -> {
+            List<Long> ids = taskRepository.findPurgeableIds(cutoff, batchSize);
+            return ids.isEmpty() ? 0 : taskRepository.purge(ids);
+        });
+
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted tasks older than {}", purged, cutoff);
+        }
+    }
+
+    @Scheduled(cron = "${task.purge.cron:0 30 2 * * *}")
+    public void purgeExpiredTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        long purged = inBatches(() -> {
+            List<Long> ids = taskTombstoneRepository.findExpiredIds(cutoff, batchSize);
+            return ids.isEmpty() ? 0 : taskTombstoneRepository.purge(ids);
+        });
+
+        if (purged > 0) {
+            log.info("Purged {} task tombstones older than {}", purged, cutoff);
+        }
+    }
+
+    /**
+     * Run the batch in its own transaction until it deletes fewer than batch-size rows
+     */
+    private long inBatches(IntSupplier batch) {
+        long deleted = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            Integer count = transactionTemplate.execute(status -> batch.getAsInt());
+            deleted += count != null ? count : 0;
+            if (count == null || count < batchSize) {
+                break;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,36 @@
+package com.thilina.WorkingTimeApplication.job;
+
+import com.thilina.WorkingTimeApplication.config.jwt.TokenRevocationList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the in-memory revocation list in step with user_session.
+ *
+ * A frequent poll picks up sessions deactivated by other instances through the
+ * (active, updated_date_time) index; an hourly compaction drops entries whose token
+ * has expired so the list stays the size of the live revocations.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationJob {
+
+    private final TokenRevocationList tokenRevocationList;
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:5000}")
+    public void refresh() {
+        try {
+            tokenRevocationList.refresh();
+        } catch (Exception e) {
+            log.warn("Revocation list refresh failed, retrying on the next poll: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${jwt.revocation.compact-cron:0 15 * * * *}")
+    public void compact() {
+        tokenRevocationList.compact();
+    }
+}
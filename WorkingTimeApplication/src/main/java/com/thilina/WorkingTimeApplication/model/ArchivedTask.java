@@ -0,0 +1,58 @@
+package com.thilina.WorkingTimeApplication.model;
+
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Approved task moved out of the live task table by TaskArchiveJob.
+ * Rows keep their original id and timestamps and are only ever written by the job.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "archived_task")
+public class ArchivedTask {
+    @Id
+    private Long id;
+
+    private String title;
+    private String description;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_to_id")
+    private User assignedTo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_id", nullable = false)
+    private User createdBy;
+
+    // Read-only views of the foreign keys, so the paged finders filter on this table's indexes
+    @Column(name = "assigned_to_id", insertable = false, updatable = false)
+    private Long assignedToId;
+
+    @Column(name = "created_by_id", insertable = false, updatable = false)
+    private Long createdById;
+
+    private Double timeEstimate;
+
+    private LocalDateTime startDateTime;
+
+    private LocalDateTime endDateTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private TaskStatus status;
+
+    @Column(name = "created_date_time")
+    private LocalDateTime createdDateTime;
+
+    @Column(name = "updated_date_time")
+    private LocalDateTime updatedDateTime;
+
+    @Column(name = "archived_date_time", nullable = false)
+    private LocalDateTime archivedDateTime;
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@SQLRestriction("deleted_date_time is null")
 public class Task extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +32,14 @@ public class Task extends BaseEntity {
     @JoinColumn(name = "created_by_id", nullable = false)
     private User createdBy;
 
+    // Read-only views of the foreign keys, so queries that fetch the users can still
+    // filter on the task's own columns and use its indexes
+    @Column(name = "assigned_to_id", insertable = false, updatable = false)
+    private Long assignedToId;
+
+    @Column(name = "created_by_id", insertable = false, updatable = false)
+    private Long createdById;
+
     private Double timeEstimate; // in fractional days
 
     private LocalDateTime startDateTime;
@@ -39,4 +49,8 @@ public class Task extends BaseEntity {
     @Enumerated(EnumType.STRING)
     @Column(length = 50)
     private TaskStatus status;
+
+    // Set when the task is deleted; the row is purged later by TaskPurgeJob
+    @Column(name = "deleted_date_time")
+    private LocalDateTime deletedDateTime;
 }
@@ -4,21 +4,36 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
+
+import java.time.LocalDateTime;
 
 import static org.hibernate.envers.RelationTargetAuditMode.NOT_AUDITED;
 
+/**
+ * Rows and their user_session_aud history are written by SessionWriteBehindQueue over JDBC,
+ * in the layout Envers uses, so the history stays readable through the audit reader.
+ */
 @Entity
 @Getter
 @Setter
 @Audited
 @Table(name = "user_session")
 public class UserSession extends BaseEntity {
+    /**
+     * Assigned by SessionIdAllocator
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private boolean active;
 
+    /**
+     * When the session's token expires; its revocation is only tracked until then
+     */
+    @NotAudited
+    private LocalDateTime expiresDateTime;
+
     @Transient
     private String accessToken;
 
@@ -0,0 +1,42 @@
+package com.thilina.WorkingTimeApplication.repository;
+
+import com.thilina.WorkingTimeApplication.model.ArchivedTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Filtered on the foreign key column itself, so the (created_by_id, end_date_time) index
+     * drives the query rather than the fetched user row
+     */
+    @Query(value = "select a from ArchivedTask a join fetch a.createdBy left join fetch a.assignedTo " +
+            "where a.createdById = :userId",
+            countQuery = "select count(a) from ArchivedTask a where a.createdById = :userId")
+    Page<ArchivedTask> findByCreatedById(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "select a from ArchivedTask a join fetch a.createdBy left join fetch a.assignedTo " +
+            "where a.assignedToId = :userId",
+            countQuery = "select count(a) from ArchivedTask a where a.assignedToId = :userId")
+    Page<ArchivedTask> findByAssignedToId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Native, so the copy is one INSERT ... SELECT that never loads the rows
+     */
+    @Modifying
+    @Query(value = "insert into archived_task (id, title, description, assigned_to_id, created_by_id, time_estimate, " +
+            "start_date_time, end_date_time, status, created_date_time, updated_date_time, archived_date_time) " +
+            "select id, title, description, assigned_to_id, created_by_id, time_estimate, " +
+            "start_date_time, end_date_time, status, created_date_time, updated_date_time, :now " +
+            "from task where id in (:ids)", nativeQuery = true)
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
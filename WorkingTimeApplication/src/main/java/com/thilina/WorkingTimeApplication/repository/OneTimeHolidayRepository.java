@@ -1,14 +1,34 @@
 package com.thilina.WorkingTimeApplication.repository;
 
 import com.thilina.WorkingTimeApplication.model.OneTimeHoliday;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OneTimeHolidayRepository extends JpaRepository<OneTimeHoliday, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.settings")
+    })
     Optional<OneTimeHoliday> findByDate(LocalDate date);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.settings")
+    })
     boolean existsByDate(LocalDate date);
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.settings")
+    })
+    List<OneTimeHoliday> findAll();
 }
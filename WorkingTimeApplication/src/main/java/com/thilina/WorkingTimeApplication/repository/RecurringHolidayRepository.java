@@ -1,12 +1,26 @@
 package com.thilina.WorkingTimeApplication.repository;
 
 import com.thilina.WorkingTimeApplication.model.RecurringHoliday;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface RecurringHolidayRepository extends JpaRepository<RecurringHoliday, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.settings")
+    })
     List<RecurringHoliday> findByMonthAndDay(Integer month, Integer day);
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.settings")
+    })
+    List<RecurringHoliday> findAll();
 }
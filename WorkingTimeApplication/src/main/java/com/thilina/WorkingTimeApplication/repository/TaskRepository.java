@@ -1,14 +1,250 @@
 package com.thilina.WorkingTimeApplication.repository;
 
+import com.thilina.WorkingTimeApplication.dto.TaskStatusSummary;
+import com.thilina.WorkingTimeApplication.dto.TaskTimelineItem;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
 import com.thilina.WorkingTimeApplication.model.Task;
 import com.thilina.WorkingTimeApplication.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAssignedTo(User user);
     List<Task> findByCreatedBy(User user);
+
+    /**
+     * Forward-only cursor over the tasks created by a user.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t join fetch t.createdBy left join fetch t.assignedTo " +
+            "where t.createdById = :userId order by t.id")
+    Stream<Task> streamByCreatedById(@Param("userId") Long userId);
+
+    /**
+     * Forward-only cursor over the tasks assigned to a user.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t join fetch t.createdBy left join fetch t.assignedTo " +
+            "where t.assignedToId = :userId order by t.id")
+    Stream<Task> streamByAssignedToId(@Param("userId") Long userId);
+
+    @Query("select new com.thilina.WorkingTimeApplication.dto.TaskStatusSummary(t.status, count(t), sum(t.timeEstimate)) " +
+            "from Task t where t.createdBy.id = :userId group by t.status")
+    List<TaskStatusSummary> summarizeByStatusForCreator(@Param("userId") Long userId);
+
+    @Query("select new com.thilina.WorkingTimeApplication.dto.TaskStatusSummary(t.status, count(t), sum(t.timeEstimate)) " +
+            "from Task t where t.assignedTo.id = :userId group by t.status")
+    List<TaskStatusSummary> summarizeByStatusForAssignee(@Param("userId") Long userId);
+
+    @Query("select count(t) from Task t where t.createdBy.id = :userId and t.endDateTime < :now")
+    long countOverdueForCreator(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("select count(t) from Task t where t.assignedTo.id = :userId and t.endDateTime < :now")
+    long countOverdueForAssignee(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Tasks created by a user whose [start, end) interval overlaps the window.
+     * Served by the (created_by_id, start_date_time, end_date_time) index.
+     */
+    @Query("select new com.thilina.WorkingTimeApplication.dto.TaskTimelineItem(" +
+            "t.id, t.title, a.id, a.username, t.startDateTime, t.endDateTime) " +
+            "from Task t left join t.assignedTo a " +
+            "where t.createdBy.id = :userId and t.startDateTime < :to and t.endDateTime > :from " +
+            "order by t.startDateTime")
+    List<TaskTimelineItem> findTimelineForCreator(@Param("userId") Long userId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Tasks assigned to a user whose [start, end) interval overlaps the window.
+     * Served by the (assigned_to_id, start_date_time, end_date_time) index.
+     */
+    @Query("select new com.thilina.WorkingTimeApplication.dto.TaskTimelineItem(" +
+            "t.id, t.title, a.id, a.username, t.startDateTime, t.endDateTime) " +
+            "from Task t join t.assignedTo a " +
+            "where t.assignedToId = :userId and t.startDateTime < :to and t.endDateTime > :from " +
+            "order by t.startDateTime")
+    List<TaskTimelineItem> findTimelineForAssignee(@Param("userId") Long userId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    /**
+     * Tasks created by a user that changed within (since, until].
+     * Served by the (created_by_id, updated_date_time, id) index.
+     */
+    @Query("select t from Task t join fetch t.createdBy left join fetch t.assignedTo " +
+            "where t.createdById = :userId and t.updatedDateTime > :since and t.updatedDateTime <= :until " +
+            "order by t.updatedDateTime, t.id")
+    List<Task> findChangedForCreator(@Param("userId") Long userId,
+                                     @Param("since") LocalDateTime since,
+                                     @Param("until") LocalDateTime until);
+
+    /**
+     * Tasks assigned to a user that changed within (since, until].
+     * Served by the (assigned_to_id, updated_date_time, id) index.
+     */
+    @Query("select t from Task t join fetch t.createdBy join fetch t.assignedTo a " +
+            "where t.assignedToId = :userId and t.updatedDateTime > :since and t.updatedDateTime <= :until " +
+            "order by t.updatedDateTime, t.id")
+    List<Task> findChangedForAssignee(@Param("userId") Long userId,
+                                      @Param("since") LocalDateTime since,
+                                      @Param("until") LocalDateTime until);
+
+    @Query("select t from Task t join fetch t.createdBy left join fetch t.assignedTo where t.status = :status")
+    List<Task> findWithUsersByStatus(@Param("status") TaskStatus status);
+
+    @Query("select t.assignedTo.id as engineerId, count(t) as taskCount, count(t.timeEstimate) as estimatedCount, " +
+            "sum(t.timeEstimate) as estimateDays " +
+            "from Task t where t.assignedTo is not null and t.status <> :excludedStatus group by t.assignedTo.id")
+    List<AssigneeWorkload> summarizeOpenWorkByAssignee(@Param("excludedStatus") TaskStatus excludedStatus);
+
+    @Query("select t.assignedTo.id as engineerId, max(t.endDateTime) as scheduledUntil " +
+            "from Task t where t.assignedTo is not null and t.status = :status group by t.assignedTo.id")
+    List<AssigneeSchedule> findLatestEndByAssignee(@Param("status") TaskStatus status);
+
+    @Query("select max(t.endDateTime) from Task t where t.assignedTo.id = :userId and t.status = :status")
+    LocalDateTime findLatestEndForAssignee(@Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    /**
+     * Open tasks of a creator currently assigned to an engineer, locked so the
+     * reassignment UPDATE that follows touches exactly these rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.status as status, t.timeEstimate as timeEstimate, t.endDateTime as endDateTime " +
+            "from Task t where t.createdBy.id = :creatorId and t.assignedTo.id = :fromId " +
+            "and t.status <> :excludedStatus order by t.id")
+    List<ReassignableTask> lockOpenForReassignment(@Param("creatorId") Long creatorId,
+                                                   @Param("fromId") Long fromId,
+                                                   @Param("excludedStatus") TaskStatus excludedStatus);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.status as status, t.timeEstimate as timeEstimate, t.endDateTime as endDateTime " +
+            "from Task t where t.createdBy.id = :creatorId and t.assignedTo.id = :fromId " +
+            "and t.status <> :excludedStatus and t.id in :ids order by t.id")
+    List<ReassignableTask> lockOpenForReassignment(@Param("creatorId") Long creatorId,
+                                                   @Param("fromId") Long fromId,
+                                                   @Param("excludedStatus") TaskStatus excludedStatus,
+                                                   @Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Task t set t.assignedTo = :to, t.updatedDateTime = :now where t.id in :ids")
+    int reassign(@Param("ids") Collection<Long> ids, @Param("to") User to, @Param("now") LocalDateTime now);
+
+    @Query("select t.id as id, t.title as title, t.description as description, " +
+            "t.createdBy.id as createdById, a.id as assignedToId from Task t left join t.assignedTo a")
+    List<SearchableTask> findAllForSearchIndex();
+
+    @Query("select t from Task t join fetch t.createdBy left join fetch t.assignedTo where t.id in :ids")
+    List<Task> findWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Who may see a task, read from the task row alone
+     */
+    @Query("select t.createdById as createdById, t.assignedToId as assignedToId from Task t where t.id = :id")
+    Optional<TaskOwners> findOwnersById(@Param("id") Long id);
+
+    @Query("select t.id as id, t.status as status, t.timeEstimate as timeEstimate, t.endDateTime as endDateTime, " +
+            "a.id as assignedToId, a.username as assignedToUsername " +
+            "from Task t left join t.assignedTo a where t.createdBy.id = :creatorId and t.id in :ids")
+    List<DeletableTask> findDeletableForCreator(@Param("creatorId") Long creatorId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Task t set t.deletedDateTime = :now, t.updatedDateTime = :now where t.id in :ids")
+    int softDelete(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Native, because soft-deleted rows are invisible to entity queries
+     */
+    @Query(value = "select id from task where deleted_date_time < :cutoff order by id limit :batchSize",
+            nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "delete from task where id in (:ids) and deleted_date_time is not null", nativeQuery = true)
+    int purge(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next chunk of approved tasks that ended before the cutoff, oldest ids first
+     */
+    @Query("select t.id as id, c.username as createdByUsername, a.username as assignedToUsername " +
+            "from Task t join t.createdBy c left join t.assignedTo a " +
+            "where t.status = :status and t.endDateTime < :cutoff order by t.id")
+    List<ArchivableTask> findArchivable(@Param("status") TaskStatus status,
+                                        @Param("cutoff") LocalDateTime cutoff,
+                                        Pageable pageable);
+
+    @Modifying
+    @Query(value = "delete from task where id in (:ids)", nativeQuery = true)
+    int deleteArchived(@Param("ids") Collection<Long> ids);
+
+    interface TaskOwners {
+        Long getCreatedById();
+        Long getAssignedToId();
+    }
+
+    interface ArchivableTask {
+        Long getId();
+        String getCreatedByUsername();
+        String getAssignedToUsername();
+    }
+
+    interface DeletableTask {
+        Long getId();
+        TaskStatus getStatus();
+        Double getTimeEstimate();
+        LocalDateTime getEndDateTime();
+        Long getAssignedToId();
+        String getAssignedToUsername();
+    }
+
+    interface SearchableTask {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        Long getCreatedById();
+        Long getAssignedToId();
+    }
+
+    interface ReassignableTask {
+        Long getId();
+        TaskStatus getStatus();
+        Double getTimeEstimate();
+        LocalDateTime getEndDateTime();
+    }
+
+    interface AssigneeWorkload {
+        Long getEngineerId();
+        Long getTaskCount();
+        Long getEstimatedCount();
+        Double getEstimateDays();
+    }
+
+    interface AssigneeSchedule {
+        Long getEngineerId();
+        LocalDateTime getScheduledUntil();
+    }
 }
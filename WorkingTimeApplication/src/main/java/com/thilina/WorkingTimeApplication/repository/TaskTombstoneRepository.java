@@ -0,0 +1,51 @@
+package com.thilina.WorkingTimeApplication.repository;
+
+import com.thilina.WorkingTimeApplication.model.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    @Query("select distinct t.taskId from TaskTombstone t " +
+            "where t.userId = :userId and t.createdDateTime > :since and t.createdDateTime <= :until")
+    List<Long> findTaskIdsRemovedForUser(@Param("userId") Long userId,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("until") LocalDateTime until);
+
+    /**
+     * Tombstones created before the cutoff, which no accepted sync cursor reaches back to.
+     * Served by the created_date_time index, oldest first.
+     */
+    @Query(value = "select id from task_tombstone where created_date_time < :cutoff " +
+            "order by created_date_time limit :batchSize", nativeQuery = true)
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "delete from task_tombstone where id in (:ids)", nativeQuery = true)
+    int purge(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("insert into TaskTombstone (taskId, userId, createdDateTime, updatedDateTime) " +
+            "select t.id, :userId, :now, :now from Task t where t.id in :taskIds")
+    int insertForTasks(@Param("taskIds") Collection<Long> taskIds,
+                       @Param("userId") Long userId,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("insert into TaskTombstone (taskId, userId, createdDateTime, updatedDateTime) " +
+            "select t.id, t.assignedTo.id, :now, :now from Task t where t.id in :taskIds and t.assignedTo is not null")
+    int insertForAssignees(@Param("taskIds") Collection<Long> taskIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("insert into TaskTombstone (taskId, userId, createdDateTime, updatedDateTime) " +
+            "select t.id, t.createdBy.id, :now, :now from Task t where t.id in :taskIds")
+    int insertForCreators(@Param("taskIds") Collection<Long> taskIds, @Param("now") LocalDateTime now);
+}
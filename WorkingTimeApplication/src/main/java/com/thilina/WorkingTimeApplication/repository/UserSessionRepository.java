@@ -2,8 +2,72 @@ package com.thilina.WorkingTimeApplication.repository;
 
 import com.thilina.WorkingTimeApplication.model.UserSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface UserSessionRepository extends JpaRepository<UserSession, Integer> {
+public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
+
+    /**
+     * Inactive sessions whose token is still unexpired.
+     * Served by the (active, expires_date_time) index.
+     */
+    @Query("select s.id as id, s.expiresDateTime as expiresDateTime from UserSession s " +
+            "where s.active = false and s.expiresDateTime > :now")
+    List<SessionExpiry> findRevoked(@Param("now") LocalDateTime now);
+
+    /**
+     * Sessions deactivated after a point in time whose token is still unexpired.
+     * Served by the (active, updated_date_time) index.
+     */
+    @Query("select s.id as id, s.expiresDateTime as expiresDateTime from UserSession s " +
+            "where s.active = false and s.updatedDateTime > :since and s.expiresDateTime > :now")
+    List<SessionExpiry> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * Active sessions of the given users, read from the (user_id, active) index
+     */
+    @Query("select s.id as id, s.expiresDateTime as expiresDateTime, s.user.id as userId from UserSession s " +
+            "where s.user.id in :userIds and s.active = true")
+    List<ActiveSession> findActiveByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Deactivate all sessions of the given users in one statement. Bulk updates bypass the
+     * auditing listener, so updated_date_time is set here for the revocation refresh to find them.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update UserSession s set s.active = false, s.updatedDateTime = :now " +
+            "where s.user.id in :userIds and s.active = true")
+    int deactivateActive(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Sessions whose token expired before the cutoff, active or not; the revocation list no
+     * longer needs them. Served by the expires_date_time index, oldest first.
+     */
+    @Query(value = "select id from user_session where expires_date_time < :cutoff " +
+            "order by expires_date_time limit :batchSize", nativeQuery = true)
+    List<Long> findPrunableIds(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = "delete from user_session_aud where id in (:ids)", nativeQuery = true)
+    int deleteAudit(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from user_session where id in (:ids)", nativeQuery = true)
+    int prune(@Param("ids") Collection<Long> ids);
+
+    interface SessionExpiry {
+        Long getId();
+        LocalDateTime getExpiresDateTime();
+    }
+
+    interface ActiveSession extends SessionExpiry {
+        Long getUserId();
+    }
 }
@@ -0,0 +1,11 @@
+package com.thilina.WorkingTimeApplication.service;
+
+import com.thilina.WorkingTimeApplication.dto.BulkRegistrationResponse;
+import com.thilina.WorkingTimeApplication.dto.RegisterRequest;
+
+import java.util.List;
+
+public interface EngineerOnboardingService {
+    BulkRegistrationResponse registerEngineers(List<RegisterRequest> requests);
+    BulkRegistrationResponse registerEngineersFromCsv(String csv);
+}
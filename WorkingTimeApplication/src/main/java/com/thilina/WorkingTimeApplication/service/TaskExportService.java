@@ -0,0 +1,10 @@
+package com.thilina.WorkingTimeApplication.service;
+
+import com.thilina.WorkingTimeApplication.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TaskExportService {
+    void exportTasks(String username, ExportFormat format, OutputStream outputStream) throws IOException;
+}
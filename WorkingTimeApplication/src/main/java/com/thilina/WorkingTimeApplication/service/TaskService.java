@@ -2,14 +2,23 @@ package com.thilina.WorkingTimeApplication.service;
 
 import com.thilina.WorkingTimeApplication.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TaskService {
     TaskResponse createTask(TaskRequest request, String username);
     List<TaskResponse> getTasksForUser(String username, String role);
     TaskResponse getTaskById(Long id, String username);
+    void checkTaskAccess(Long id, String username);
     TaskResponse submitTimeEstimate(Long id, TimeEstimateRequest request, String username);
     EndDateCalculationResponse calculateEndDate(Long id, EndDateCalculationRequest request, String username);
     TaskResponse updateTask(Long id, TaskRequest request, String username);
     void deleteTask(Long id, String username);
+    int deleteTasks(List<Long> ids, String username);
+    BulkReassignResponse reassignTasks(BulkReassignRequest request, String username);
+    TaskSummaryResponse getTaskSummary(String username);
+    TaskChangesResponse getChanges(String username, String since);
+    List<TaskSearchResult> searchTasks(String username, String query, int limit);
+    PagedResponse<TaskResponse> getArchivedTasks(String username, int page, int size);
+    List<TaskTimelineItem> getTimeline(String username, LocalDateTime from, LocalDateTime to, boolean inMemory);
 }
@@ -1,5 +1,7 @@
 package com.thilina.WorkingTimeApplication.service;
 
+import com.thilina.WorkingTimeApplication.dto.AuthenticatedUser;
+import com.thilina.WorkingTimeApplication.dto.PagedResponse;
 import com.thilina.WorkingTimeApplication.dto.UserResponse;
 import com.thilina.WorkingTimeApplication.model.User;
 
@@ -8,5 +10,7 @@ import java.util.List;
 public interface UserService {
     User getUserById(Long id);
     User getUserByUsername(String username);
+    AuthenticatedUser getAuthenticatedUser(String username);
     List<UserResponse> getAllEngineers();
+    PagedResponse<UserResponse> getEngineerDirectory(String query, int page, int size);
 }
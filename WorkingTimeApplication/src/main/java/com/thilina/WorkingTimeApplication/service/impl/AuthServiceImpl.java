@@ -1,127 +1,126 @@
 package com.thilina.WorkingTimeApplication.service.impl;
 
+import com.thilina.WorkingTimeApplication.cache.EngineerAvailabilityQueue;
+import com.thilina.WorkingTimeApplication.cache.EngineerDirectoryIndex;
+import com.thilina.WorkingTimeApplication.cache.SecondLevelCache;
+import com.thilina.WorkingTimeApplication.config.UserAccountDetails;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
 import com.thilina.WorkingTimeApplication.config.jwt.JwtUtil;
 import com.thilina.WorkingTimeApplication.dto.AuthRequest;
 import com.thilina.WorkingTimeApplication.dto.AuthResponse;
 import com.thilina.WorkingTimeApplication.dto.RegisterRequest;
 import com.thilina.WorkingTimeApplication.enums.Role;
 import com.thilina.WorkingTimeApplication.model.User;
-import com.thilina.WorkingTimeApplication.model.UserSession;
 import com.thilina.WorkingTimeApplication.repository.UserRepository;
-import com.thilina.WorkingTimeApplication.repository.UserSessionRepository;
 import com.thilina.WorkingTimeApplication.service.AuthService;
+import com.thilina.WorkingTimeApplication.session.SessionWriteBehindQueue;
 import com.thilina.WorkingTimeApplication.util.exception.ResourceNotFoundException;
+import com.thilina.WorkingTimeApplication.util.transaction.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.time.Instant;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
-    private final UserSessionRepository userSessionRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-
+    private final EngineerAvailabilityQueue engineerAvailabilityQueue;
+    private final EngineerDirectoryIndex engineerDirectoryIndex;
+    private final SecondLevelCache secondLevelCache;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final SessionWriteBehindQueue sessionWriteBehindQueue;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Runs without a transaction: the credential check waits on the password hashing pool,
+     * and the session bookkeeping is written behind the response.
+     */
     @Override
-    @Transactional
     public AuthResponse login(AuthRequest request) {
         log.info("Login attempt for username: {}", request.getUsername());
 
+        UserAccountDetails account;
         try {
-            // 1. Authenticate credentials
-            authenticationManager.authenticate(
+            // 1. Authenticate credentials; the provider loads the account once for the check
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
+            account = (UserAccountDetails) authentication.getPrincipal();
             log.debug("Authentication successful for username: {}", request.getUsername());
         } catch (Exception e) {
             log.error("Authentication failed for username: {}", request.getUsername(), e);
             throw e;
         }
 
-        // 2. Load user entity
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> {
-                    log.error("User not found with username: {}", request.getUsername());
-                    return new ResourceNotFoundException("User not found");
-                });
-
-        log.debug("User found: {} with role: {}", user.getUsername(), user.getRole());
-
-        // 3. Deactivate any existing active sessions
-        deactivateExistingSessions(user);
-
-        // 4. Create new active session
-        UserSession newSession = createNewSession(user);
+        // 2. Reuse the account the provider loaded, no second user query
+        log.debug("User found: {} with role: {}", account.username(), account.role());
 
-        // 5. Attach session to user (for cascade)
-        user.getUserSessions().add(newSession);
-        userRepository.save(user);
+        // 3. Start a new session, ending the existing ones
+        Instant expiresAt = jwtUtil.nextExpiry();
+        long sessionId = sessionWriteBehindQueue.startSession(account.id(), expiresAt, true);
 
-        // 6. Generate JWT token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
-        newSession.setAccessToken(token); // transient, not persisted
+        // 4. Generate JWT token, identified by the session so it can be revoked
+        String token = jwtUtil.generateToken(account.id(), account.username(), account.role().name(),
+                sessionId, expiresAt);
 
-        log.info("User {} logged in successfully with role: {}", user.getUsername(), user.getRole());
+        log.info("User {} logged in successfully with role: {}", account.username(), account.role());
 
-        // 7. Return response
-        return new AuthResponse(token, user.getUsername(), user.getRole().name());
+        // 5. Return response
+        return new AuthResponse(token, account.username(), account.role().name());
     }
 
 
-    private void deactivateExistingSessions(User user) {
-        log.debug("Checking for active sessions for user: {}", user.getUsername());
-
-        List<UserSession> activeSessions = user.getUserSessions().stream()
-                .filter(UserSession::isActive)
-                .toList();
+    /**
+     * The password is hashed before the user's transaction starts, so waiting on the
+     * hashing pool holds no database connection
+     */
+    @Override
+    public AuthResponse register(RegisterRequest request) {
+        log.info("Registration attempt for username: {}", request.getUsername());
 
-        if (activeSessions.isEmpty()) {
-            log.debug("No active sessions found for user: {}", user.getUsername());
-            return;
+        // Check for existing username before spending a hash on the request
+        if (userRepository.existsByUsername(request.getUsername())) {
+            log.error("Registration failed - Username already exists: {}", request.getUsername());
+            throw new RuntimeException("Username already exists");
         }
 
-        for (UserSession session : activeSessions) {
-            session.setActive(false);
-            userSessionRepository.save(session);
-            log.info("Deactivated session ID: {} for user: {}", session.getId(), user.getUsername());
-        }
-    }
+        log.debug("Username available: {}", request.getUsername());
 
-    private UserSession createNewSession(User user) {
-        log.debug("Creating new user session for user: {}", user.getUsername());
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
 
-        UserSession userSession = new UserSession();
-        userSession.setUser(user);
-        userSession.setActive(true);
+        User user = transactionTemplate.execute(status -> createEngineer(request, encodedPassword));
 
-        UserSession savedSession = userSessionRepository.save(userSession);
-        log.info("New session created successfully. Session ID: {} for user: {}", savedSession.getId(), user.getUsername());
+        // Generate JWT token for a fresh session, as on login; the user row is committed,
+        // so the session row written behind can reference it
+        Instant expiresAt = jwtUtil.nextExpiry();
+        long sessionId = sessionWriteBehindQueue.startSession(user.getId(), expiresAt, false);
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name(),
+                sessionId, expiresAt);
+        log.debug("JWT token generated for newly registered user: {}", user.getUsername());
 
-        return savedSession;
-    }
+        log.info("Registration completed successfully for username: {}", user.getUsername());
 
-    @Override
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
-        log.info("Registration attempt for username: {}", request.getUsername());
+        return new AuthResponse(token, user.getUsername(), user.getRole().name());
+    }
 
-        // Check for existing username
+    private User createEngineer(RegisterRequest request, String encodedPassword) {
+        // Checked again inside the transaction, the name may have been taken while hashing
         if (userRepository.existsByUsername(request.getUsername())) {
             log.error("Registration failed - Username already exists: {}", request.getUsername());
             throw new RuntimeException("Username already exists");
         }
 
-        log.debug("Username available: {}", request.getUsername());
-
         // Create new user
         User user = new User();
         user.setFirstName(request.getFirstName());
@@ -129,7 +128,7 @@ public class AuthServiceImpl implements AuthService {
         user.setEmail(request.getEmail());
         user.setPhoneNo(request.getPhoneNo());
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(encodedPassword);
         user.setRole(Role.ENGINEER); // Default role for registration
 
         log.debug("User object created for registration: {}", request.getUsername());
@@ -139,17 +138,20 @@ public class AuthServiceImpl implements AuthService {
         log.info("User registered successfully. User ID: {}, Username: {}, Role: {}",
                 user.getId(), user.getUsername(), user.getRole());
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
-        log.debug("JWT token generated for newly registered user: {}", user.getUsername());
-
-        log.info("Registration completed successfully for username: {}", user.getUsername());
-
-        return new AuthResponse(token, user.getUsername(), user.getRole().name());
+        Long engineerId = user.getId();
+        User engineer = user;
+        AfterCommit.run(() -> {
+            // The new account authenticates before any principal exists to pin, so pin everyone
+            replicaLagGuard.recordGlobalWrite();
+            secondLevelCache.evictUser(engineerId);
+            engineerAvailabilityQueue.upsert(engineer);
+            engineerDirectoryIndex.upsert(engineer);
+        });
+
+        return user;
     }
 
     @Override
-    @Transactional
     public void logout(String authorizationHeader) {
         log.info("Logout attempt received");
 
@@ -171,8 +173,8 @@ public class AuthServiceImpl implements AuthService {
 
             log.debug("User found for logout: {}", username);
 
-            // Deactivate user session
-            deactivateExistingSessions(user);
+            // End the user's sessions
+            sessionWriteBehindQueue.endSessions(user.getId());
 
             log.info("User {} logged out successfully", username);
 
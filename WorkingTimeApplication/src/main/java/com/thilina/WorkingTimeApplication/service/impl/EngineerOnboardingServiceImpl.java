@@ -0,0 +1,354 @@
+package com.thilina.WorkingTimeApplication.service.impl;
+
+import com.thilina.WorkingTimeApplication.cache.EngineerAvailabilityQueue;
+import com.thilina.WorkingTimeApplication.cache.EngineerDirectoryIndex;
+import com.thilina.WorkingTimeApplication.cache.SecondLevelCache;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
+import com.thilina.WorkingTimeApplication.config.password.OffloadingPasswordEncoder;
+import com.thilina.WorkingTimeApplication.dto.BulkRegistrationResponse;
+import com.thilina.WorkingTimeApplication.dto.BulkRegistrationResult;
+import com.thilina.WorkingTimeApplication.dto.RegisterRequest;
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import com.thilina.WorkingTimeApplication.service.EngineerOnboardingService;
+import com.thilina.WorkingTimeApplication.util.csv.CsvReader;
+import com.thilina.WorkingTimeApplication.util.exception.ServiceUnavailableException;
+import com.thilina.WorkingTimeApplication.util.exception.ValidationException;
+import com.thilina.WorkingTimeApplication.util.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Registers whole teams of engineers in one request.
+ *
+ * Usernames are checked against the table with a single IN query. Passwords are hashed
+ * on virtual threads, at most hash-parallelism at a time, through the shared hashing pool:
+ * the bulk request never holds more than that many of its threads, so logins keep the rest.
+ * Users are then inserted with JDBC batches of batch-size rows, one transaction per batch;
+ * a batch that fails is replayed row by row so the report names the rows at fault.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EngineerOnboardingServiceImpl implements EngineerOnboardingService {
+
+    private static final String INSERT_USER = "insert into user (username, password, email, first_name, " +
+            "last_name, phone_no, role, created_date_time, updated_date_time) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("username", "password", "firstname", "lastname", "email", "phoneno");
+
+    private final UserRepository userRepository;
+    private final OffloadingPasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SecondLevelCache secondLevelCache;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final EngineerAvailabilityQueue engineerAvailabilityQueue;
+    private final EngineerDirectoryIndex engineerDirectoryIndex;
+
+    @Value("${user.bulk.max-rows:1000}")
+    private int maxRows;
+
+    @Value("${user.bulk.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 0 uses half of the hashing pool
+     */
+    @Value("${user.bulk.hash-parallelism:0}")
+    private int hashParallelism;
+
+    /**
+     * One requested user on its way through validation, hashing and insert
+     */
+    private static final class Row {
+        private final int number;
+        private final RegisterRequest request;
+        private String encodedPassword;
+        private Long userId;
+        private String error;
+
+        private Row(int number, RegisterRequest request) {
+            this.number = number;
+            this.request = request;
+        }
+
+        private boolean pending() {
+            return error == null && userId == null;
+        }
+    }
+
+    @Override
+    public BulkRegistrationResponse registerEngineers(List<RegisterRequest> requests) {
+        if (requests == null) {
+            throw new ValidationException("EMPTY_REQUEST", "No users to register");
+        }
+        List<Row> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new Row(i + 1, requests.get(i)));
+        }
+        return register(rows);
+    }
+
+    /**
+     * The first record is the header; columns are matched by name, case-insensitively,
+     * and only username and password are required
+     */
+    @Override
+    public BulkRegistrationResponse registerEngineersFromCsv(String csv) {
+        List<List<String>> records;
+        try {
+            records = CsvReader.parse(csv == null ? "" : csv);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("INVALID_CSV", e.getMessage());
+        }
+        if (records.isEmpty()) {
+            throw new ValidationException("EMPTY_REQUEST", "No users to register");
+        }
+
+        List<String> header = records.get(0).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!header.contains("username") || !header.contains("password")) {
+            throw new ValidationException("INVALID_CSV", "CSV header must name the username and password columns");
+        }
+
+        List<Row> rows = new ArrayList<>(records.size() - 1);
+        for (int i = 1; i < records.size(); i++) {
+            List<String> fields = records.get(i);
+            Row row = new Row(i, toRequest(header, fields));
+            if (fields.size() != header.size()) {
+                row.error = "Expected " + header.size() + " fields but found " + fields.size();
+            }
+            rows.add(row);
+        }
+        return register(rows);
+    }
+
+    private RegisterRequest toRequest(List<String> header, List<String> fields) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < Math.min(header.size(), fields.size()); i++) {
+            if (CSV_COLUMNS.contains(header.get(i))) {
+                values.put(header.get(i), fields.get(i));
+            }
+        }
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(values.get("username"));
+        request.setPassword(values.get("password"));
+        request.setFirstName(values.get("firstname"));
+        request.setLastName(values.get("lastname"));
+        request.setEmail(values.get("email"));
+        request.setPhoneNo(values.get("phoneno"));
+        return request;
+    }
+
+    private BulkRegistrationResponse register(List<Row> rows) {
+        if (rows.isEmpty()) {
+            throw new ValidationException("EMPTY_REQUEST", "No users to register");
+        }
+        if (rows.size() > maxRows) {
+            throw new ValidationException("TOO_MANY_ROWS", "At most " + maxRows + " users can be registered at once");
+        }
+        log.info("Bulk registration of {} engineers", rows.size());
+
+        // 1. Required fields and usernames repeated within the request
+        Set<String> requested = new HashSet<>();
+        for (Row row : rows) {
+            if (row.error != null) {
+                continue;
+            }
+            if (row.request == null || isBlank(row.request.getUsername())) {
+                row.error = "Username is required";
+            } else if (isBlank(row.request.getPassword())) {
+                row.error = "Password is required";
+            } else if (!requested.add(row.request.getUsername())) {
+                row.error = "Username appears more than once in the request";
+            }
+        }
+
+        // 2. Usernames already taken, in one query
+        List<Row> candidates = rows.stream().filter(Row::pending).toList();
+        if (!candidates.isEmpty()) {
+            Set<String> existing = new HashSet<>(userRepository.findExistingUsernames(
+                    candidates.stream().map(row -> row.request.getUsername()).toList()));
+            candidates.stream()
+                    .filter(row -> existing.contains(row.request.getUsername()))
+                    .forEach(row -> row.error = "Username already exists");
+        }
+
+        // 3. Hash outside any transaction, so no connection waits on the hashing pool
+        hashPasswords(rows.stream().filter(Row::pending).toList());
+
+        // 4. Insert in batches
+        List<Row> hashed = rows.stream().filter(Row::pending).toList();
+        for (int from = 0; from < hashed.size(); from += batchSize) {
+            insert(hashed.subList(from, Math.min(from + batchSize, hashed.size())));
+        }
+
+        List<BulkRegistrationResult> results = rows.stream()
+                .map(row -> BulkRegistrationResult.builder()
+                        .row(row.number)
+                        .username(row.request == null ? null : row.request.getUsername())
+                        .created(row.userId != null)
+                        .userId(row.userId)
+                        .error(row.error)
+                        .build())
+                .toList();
+        int created = (int) rows.stream().filter(row -> row.userId != null).count();
+        log.info("Bulk registration created {} of {} engineers", created, rows.size());
+
+        return BulkRegistrationResponse.builder()
+                .requestedCount(rows.size())
+                .createdCount(created)
+                .failedCount(rows.size() - created)
+                .results(results)
+                .build();
+    }
+
+    private void hashPasswords(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Semaphore permits = new Semaphore(hashParallelism > 0
+                ? hashParallelism : Math.max(1, passwordEncoder.threads() / 2));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> hashes = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                hashes.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return passwordEncoder.encode(row.request.getPassword());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                try {
+                    row.encodedPassword = hashes.get(i).get();
+                } catch (ExecutionException e) {
+                    row.error = e.getCause() instanceof ServiceUnavailableException
+                            ? "Password hashing is busy, please retry this user"
+                            : "Password could not be hashed";
+                    log.warn("Bulk registration could not hash password for {}: {}",
+                            row.request.getUsername(), e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServiceUnavailableException("PASSWORD_HASHING_INTERRUPTED", "Password hashing was interrupted");
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert one batch in its own transaction; when the batch fails, nothing of it is kept
+     * and each row is tried alone
+     */
+    private void insert(List<Row> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertRows(batch));
+        } catch (DataAccessException e) {
+            log.warn("Bulk registration batch of {} failed, inserting row by row: {}", batch.size(), e.getMessage());
+            batch.forEach(row -> row.userId = null);
+            for (Row row : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertRows(List.of(row)));
+                } catch (DataAccessException rowFailure) {
+                    row.userId = null;
+                    row.error = rowFailure instanceof DuplicateKeyException
+                            ? "Username already exists"
+                            : "User could not be stored";
+                    log.warn("Bulk registration failed for {}: {}", row.request.getUsername(), rowFailure.getMessage());
+                }
+            }
+        }
+    }
+
+    private void insertRows(List<Row> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_USER, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Row row = rows.get(i);
+                        RegisterRequest request = row.request;
+                        ps.setString(1, request.getUsername());
+                        ps.setString(2, row.encodedPassword);
+                        ps.setString(3, request.getEmail());
+                        ps.setString(4, request.getFirstName());
+                        ps.setString(5, request.getLastName());
+                        ps.setString(6, request.getPhoneNo());
+                        ps.setString(7, Role.ENGINEER.name());
+                        ps.setTimestamp(8, now);
+                        ps.setTimestamp(9, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<User> engineers = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            row.userId = ((Number) generated.get(i).values().iterator().next()).longValue();
+            engineers.add(User.builder()
+                    .id(row.userId)
+                    .username(row.request.getUsername())
+                    .email(row.request.getEmail())
+                    .firstName(row.request.getFirstName())
+                    .lastName(row.request.getLastName())
+                    .phoneNo(row.request.getPhoneNo())
+                    .role(Role.ENGINEER)
+                    .build());
+        }
+
+        AfterCommit.run(() -> {
+            // New accounts authenticate before any principal exists to pin, so pin everyone
+            replicaLagGuard.recordGlobalWrite();
+            secondLevelCache.evictUsers();
+            engineers.forEach(engineer -> {
+                engineerAvailabilityQueue.upsert(engineer);
+                engineerDirectoryIndex.upsert(engineer);
+            });
+        });
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
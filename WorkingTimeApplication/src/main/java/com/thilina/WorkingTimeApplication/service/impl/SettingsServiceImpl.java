@@ -1,5 +1,8 @@
 package com.thilina.WorkingTimeApplication.service.impl;
 
+import com.thilina.WorkingTimeApplication.cache.ResourceVersionRegistry;
+import com.thilina.WorkingTimeApplication.cache.SecondLevelCache;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
 import com.thilina.WorkingTimeApplication.dto.HolidayRequest;
 import com.thilina.WorkingTimeApplication.dto.WorkingHoursRequest;
 import com.thilina.WorkingTimeApplication.model.OneTimeHoliday;
@@ -11,6 +14,7 @@ import com.thilina.WorkingTimeApplication.repository.WorkingHoursRepository;
 import com.thilina.WorkingTimeApplication.service.SettingsService;
 import com.thilina.WorkingTimeApplication.util.exception.DuplicateResourceException;
 import com.thilina.WorkingTimeApplication.util.exception.ResourceNotFoundException;
+import com.thilina.WorkingTimeApplication.util.transaction.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +29,9 @@ public class SettingsServiceImpl implements SettingsService {
     private final WorkingHoursRepository workingHoursRepository;
     private final RecurringHolidayRepository recurringHolidayRepository;
     private final OneTimeHolidayRepository oneTimeHolidayRepository;
+    private final ResourceVersionRegistry resourceVersionRegistry;
+    private final SecondLevelCache secondLevelCache;
+    private final ReplicaLagGuard replicaLagGuard;
 
     @Override
     @Transactional
@@ -42,10 +49,12 @@ public class SettingsServiceImpl implements SettingsService {
         workingHours.setEndTime(request.getEndTime());
         workingHours.setIsActive(true);
 
+        settingsChanged();
         return workingHoursRepository.save(workingHours);
     }
 
     @Override
+    @Transactional
     public WorkingHours getWorkingHours() {
         return workingHoursRepository.findByIsActiveTrue()
                 .orElseGet(() -> {
@@ -54,6 +63,7 @@ public class SettingsServiceImpl implements SettingsService {
                     defaultHours.setStartTime(LocalTime.of(8, 0));
                     defaultHours.setEndTime(LocalTime.of(16, 0));
                     defaultHours.setIsActive(true);
+                    settingsChanged();
                     return workingHoursRepository.save(defaultHours);
                 });
     }
@@ -66,10 +76,12 @@ public class SettingsServiceImpl implements SettingsService {
         holiday.setDay(request.getDay());
         holiday.setDescription(request.getDescription());
 
+        settingsChanged();
         return recurringHolidayRepository.save(holiday);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RecurringHoliday> getAllRecurringHolidays() {
         return recurringHolidayRepository.findAll();
     }
@@ -78,6 +90,7 @@ public class SettingsServiceImpl implements SettingsService {
     @Transactional
     public void deleteRecurringHoliday(Long id) {
         recurringHolidayRepository.deleteById(id);
+        settingsChanged();
     }
 
     @Override
@@ -91,10 +104,12 @@ public class SettingsServiceImpl implements SettingsService {
         holiday.setDate(request.getDate());
         holiday.setDescription(request.getDescription());
 
+        settingsChanged();
         return oneTimeHolidayRepository.save(holiday);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OneTimeHoliday> getAllOneTimeHolidays() {
         return oneTimeHolidayRepository.findAll();
     }
@@ -103,17 +118,32 @@ public class SettingsServiceImpl implements SettingsService {
     @Transactional
     public void deleteOneTimeHoliday(Long id) {
         oneTimeHolidayRepository.deleteById(id);
+        settingsChanged();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RecurringHoliday getRecurringHolidayById(Long id) {
         return recurringHolidayRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Recurring holiday not found with id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OneTimeHoliday getOneTimeHolidayById(Long id) {
         return oneTimeHolidayRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("One-time holiday not found with id: " + id));
     }
+
+    /**
+     * Once the change commits, drop the cached settings rows and move the settings ETags on.
+     * Every user sees settings, so all reads stay on the primary until replicas caught up.
+     */
+    private void settingsChanged() {
+        AfterCommit.run(() -> {
+            replicaLagGuard.recordGlobalWrite();
+            secondLevelCache.evictSettings();
+            resourceVersionRegistry.bumpSettings();
+        });
+    }
 }
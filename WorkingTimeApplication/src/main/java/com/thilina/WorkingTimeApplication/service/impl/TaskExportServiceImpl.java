@@ -0,0 +1,132 @@
+package com.thilina.WorkingTimeApplication.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.thilina.WorkingTimeApplication.dto.AuthenticatedUser;
+import com.thilina.WorkingTimeApplication.dto.TaskResponse;
+import com.thilina.WorkingTimeApplication.enums.ExportFormat;
+import com.thilina.WorkingTimeApplication.model.Task;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.service.TaskExportService;
+import com.thilina.WorkingTimeApplication.service.UserService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private static final String CSV_HEADER = "id,title,description,assignedToId,assignedToUsername," +
+            "createdById,createdByUsername,timeEstimate,startDateTime,endDateTime,status";
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(String username, ExportFormat format, OutputStream outputStream) throws IOException {
+        AuthenticatedUser user = userService.getAuthenticatedUser(username);
+        log.info("Exporting tasks for user: {} as {}", username, format);
+
+        long rows = 0;
+        try (Stream<Task> tasks = user.isEngineer()
+                ? taskRepository.streamByAssignedToId(user.id())
+                : taskRepository.streamByCreatedById(user.id())) {
+
+            Iterator<TaskResponse> rowIterator = tasks
+                    .map(this::toRowAndDetach)
+                    .iterator();
+
+            rows = format == ExportFormat.CSV
+                    ? writeCsv(rowIterator, outputStream)
+                    : writeNdjson(rowIterator, outputStream);
+        }
+
+        log.info("Exported {} tasks for user: {}", rows, username);
+    }
+
+    /**
+     * Map a task to its export row and evict it from the persistence context,
+     * so the session does not grow with the size of the export.
+     */
+    private TaskResponse toRowAndDetach(Task task) {
+        TaskResponse row = TaskServiceImpl.mapToResponse(task);
+        entityManager.detach(task);
+        return row;
+    }
+
+    private long writeNdjson(Iterator<TaskResponse> rows, OutputStream outputStream) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (SequenceWriter writer = objectMapper.writerFor(TaskResponse.class)
+                .withRootValueSeparator("\n")
+                .writeValues(generator)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                count++;
+            }
+        }
+        if (count > 0) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<TaskResponse> rows, OutputStream outputStream) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        while (rows.hasNext()) {
+            TaskResponse row = rows.next();
+            writer.write(String.join(",",
+                    csv(row.getId()),
+                    csv(row.getTitle()),
+                    csv(row.getDescription()),
+                    csv(row.getAssignedToId()),
+                    csv(row.getAssignedToUsername()),
+                    csv(row.getCreatedById()),
+                    csv(row.getCreatedByUsername()),
+                    csv(row.getTimeEstimate()),
+                    csv(row.getStartDateTime() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.getStartDateTime()) : null),
+                    csv(row.getEndDateTime() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.getEndDateTime()) : null),
+                    csv(row.getStatus())));
+            writer.write("\r\n");
+            count++;
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
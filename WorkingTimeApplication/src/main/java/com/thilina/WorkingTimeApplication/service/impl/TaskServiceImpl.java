@@ -1,93 +1,187 @@
 package com.thilina.WorkingTimeApplication.service.impl;
 
+import com.thilina.WorkingTimeApplication.cache.EngineerAvailabilityQueue;
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkloadCache;
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkloadCache.Contribution;
+import com.thilina.WorkingTimeApplication.cache.ResourceVersionRegistry;
+import com.thilina.WorkingTimeApplication.cache.TaskSearchIndex;
+import com.thilina.WorkingTimeApplication.cache.TaskTimelineIndex;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
 import com.thilina.WorkingTimeApplication.dto.*;
 import com.thilina.WorkingTimeApplication.enums.Role;
 import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.model.ArchivedTask;
 import com.thilina.WorkingTimeApplication.model.Task;
+import com.thilina.WorkingTimeApplication.model.TaskTombstone;
 import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.ArchivedTaskRepository;
 import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskTombstoneRepository;
 import com.thilina.WorkingTimeApplication.repository.UserRepository;
 import com.thilina.WorkingTimeApplication.service.TaskService;
 import com.thilina.WorkingTimeApplication.service.TimeCalculationService;
 import com.thilina.WorkingTimeApplication.service.UserService;
 import com.thilina.WorkingTimeApplication.util.exception.RequiredFieldException;
+import com.thilina.WorkingTimeApplication.util.exception.ResourceGoneException;
 import com.thilina.WorkingTimeApplication.util.exception.ResourceNotFoundException;
+import com.thilina.WorkingTimeApplication.util.exception.ServerErrorException;
+import com.thilina.WorkingTimeApplication.util.exception.ValidationException;
+import com.thilina.WorkingTimeApplication.util.transaction.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
     private final UserRepository userRepository;
     private final UserService userService;
     private final TimeCalculationService timeCalculationService;
     private final ModelMapper modelMapper;
+    private final TaskTimelineIndex taskTimelineIndex;
+    private final EngineerWorkloadCache engineerWorkloadCache;
+    private final EngineerAvailabilityQueue engineerAvailabilityQueue;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final ResourceVersionRegistry resourceVersionRegistry;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ReplicaLagGuard replicaLagGuard;
+
+    @Value("${task.sync.lag-ms:2000}")
+    private long syncLagMillis;
+
+    @Value("${task.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
 
     @Override
     @Transactional
     public TaskResponse createTask(TaskRequest request, String username) {
-        User pm = userService.getUserByUsername(username);
+        AuthenticatedUser pm = userService.getAuthenticatedUser(username);
 
-        if (pm.getRole() != Role.PROJECT_MANAGER) {
+        if (pm.role() != Role.PROJECT_MANAGER) {
             throw new AccessDeniedException("Only Project Managers can create tasks");
         }
 
         Task task = new Task();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
-        task.setCreatedBy(pm);
+        task.setCreatedBy(userRepository.getReferenceById(pm.id()));
         task.setStatus(TaskStatus.CREATED);
 
+        User engineer = null;
         if (request.getAssignedToId() != null) {
-            User engineer = userService.getUserById(request.getAssignedToId());
+            engineer = userService.getUserById(request.getAssignedToId());
             if (engineer.getRole() != Role.ENGINEER) {
                 throw new AccessDeniedException("Tasks can only be assigned to Engineers");
             }
+        } else if (Boolean.TRUE.equals(request.getAutoAssign())) {
+            engineer = leastLoadedEngineer();
+        }
+
+        if (engineer != null) {
             task.setAssignedTo(engineer);
             task.setStatus(TaskStatus.ASSIGNED);
         }
 
         task = taskRepository.save(task);
+        publishChange(task.getId(), null, task);
         return mapToResponse(task);
     }
 
+    /**
+     * The engineer projected to be free first. Users whose role changed since the queue
+     * ranked them are dropped from it and the next one is taken.
+     */
+    private User leastLoadedEngineer() {
+        while (true) {
+            Long engineerId = engineerAvailabilityQueue.leastLoaded()
+                    .orElseThrow(() -> new ResourceNotFoundException("No engineer available for auto-assignment"));
+            User engineer = userService.getUserById(engineerId);
+            if (engineer.getRole() == Role.ENGINEER) {
+                return engineer;
+            }
+            engineerAvailabilityQueue.remove(engineerId);
+        }
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public TaskResponse getTaskById(Long id, String username) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
 
-        User user = userService.getUserByUsername(username);
+        checkCanView(task.getAssignedTo() != null ? task.getAssignedTo().getId() : null,
+                userService.getAuthenticatedUser(username));
+
+        return mapToResponse(task);
+    }
+
+    /**
+     * The access check of getTaskById without loading the task, for conditional requests
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void checkTaskAccess(Long id, String username) {
+        TaskRepository.TaskOwners owners = taskRepository.findOwnersById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+
+        checkCanView(owners.getAssignedToId(), userService.getAuthenticatedUser(username));
+    }
 
+    private static void checkCanView(Long assignedToId, AuthenticatedUser user) {
         // Engineers can only see their own tasks
-        if (user.getRole() == Role.ENGINEER &&
-                (task.getAssignedTo() == null || !task.getAssignedTo().getId().equals(user.getId()))) {
+        if (user.isEngineer() && (assignedToId == null || !assignedToId.equals(user.id()))) {
             throw new AccessDeniedException("You don't have permission to view this task");
         }
-
-        return mapToResponse(task);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTasksForUser(String username, String role) {
-        User user = userService.getUserByUsername(username);
+        AuthenticatedUser user = userService.getAuthenticatedUser(username);
         List<Task> tasks;
 
-        if (user.getRole() == Role.ENGINEER) {
-            tasks = taskRepository.findByAssignedTo(user);
+        if (user.isEngineer()) {
+            tasks = taskRepository.findByAssignedTo(userRepository.getReferenceById(user.id()));
         } else {
-            tasks = taskRepository.findByCreatedBy(user);
+            tasks = taskRepository.findByCreatedBy(userRepository.getReferenceById(user.id()));
         }
 
         return tasks.stream()
-                .map(this::mapToResponse)
+                .map(TaskServiceImpl::mapToResponse)
                 .collect(Collectors.toList());
     }
 
@@ -97,20 +191,22 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
 
-        User engineer = userService.getUserByUsername(username);
+        AuthenticatedUser engineer = userService.getAuthenticatedUser(username);
 
-        if (engineer.getRole() != Role.ENGINEER) {
+        if (engineer.role() != Role.ENGINEER) {
             throw new AccessDeniedException("Only Engineers can submit time estimates");
         }
 
-        if (task.getAssignedTo() == null || !task.getAssignedTo().getId().equals(engineer.getId())) {
+        if (task.getAssignedTo() == null || !task.getAssignedTo().getId().equals(engineer.id())) {
             throw new AccessDeniedException("You can only estimate tasks assigned to you");
         }
 
+        Contribution before = EngineerWorkloadCache.contributionOf(task);
         task.setTimeEstimate(request.getEstimateDays());
         task.setStatus(TaskStatus.ESTIMATED);
 
         task = taskRepository.save(task);
+        publishChange(task.getId(), before, task);
         return mapToResponse(task);
     }
 
@@ -120,13 +216,13 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
 
-        User pm = userService.getUserByUsername(username);
+        AuthenticatedUser pm = userService.getAuthenticatedUser(username);
 
-        if (pm.getRole() != Role.PROJECT_MANAGER) {
+        if (pm.role() != Role.PROJECT_MANAGER) {
             throw new AccessDeniedException("Only Project Managers can calculate end dates");
         }
 
-        if (!task.getCreatedBy().getId().equals(pm.getId())) {
+        if (!task.getCreatedBy().getId().equals(pm.id())) {
             throw new AccessDeniedException("You can only calculate end dates for your own tasks");
         }
 
@@ -139,16 +235,18 @@ public class TaskServiceImpl implements TaskService {
                 task.getTimeEstimate()
         );
 
+        Contribution before = EngineerWorkloadCache.contributionOf(task);
         task.setStartDateTime(request.getStartDateTime());
         task.setEndDateTime(endDateTime);
         task.setStatus(TaskStatus.APPROVED);
 
-        taskRepository.save(task);
+        Task approvedTask = taskRepository.save(task);
+        publishChange(approvedTask.getId(), before, approvedTask);
 
         return new EndDateCalculationResponse(endDateTime);
     }
 
-    private TaskResponse mapToResponse(Task task) {
+    static TaskResponse mapToResponse(Task task) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -161,9 +259,12 @@ public class TaskServiceImpl implements TaskService {
                 .startDateTime(task.getStartDateTime())
                 .endDateTime(task.getEndDateTime())
                 .status(task.getStatus().name())
+                .createdAt(task.getCreatedDateTime())
+                .updatedAt(task.getUpdatedDateTime())
                 .build();
     }
 
+    @Transactional
     public TaskResponse updateTask(Long id, TaskRequest request, String username) {
         // Find task
         Task task = taskRepository.findById(id)
@@ -174,6 +275,9 @@ public class TaskServiceImpl implements TaskService {
             throw new AccessDeniedException("Access denied: You can only update your own tasks");
         }
 
+        Contribution before = EngineerWorkloadCache.contributionOf(task);
+        String previousAssignee = task.getAssignedTo() != null ? task.getAssignedTo().getUsername() : null;
+
         // Update task fields
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
@@ -182,25 +286,410 @@ public class TaskServiceImpl implements TaskService {
         if (request.getAssignedToId() != null) {
             User engineer = userRepository.findById(request.getAssignedToId())
                     .orElseThrow(() -> new ResourceNotFoundException("Engineer not found"));
+            if (task.getAssignedTo() != null && !task.getAssignedTo().getId().equals(engineer.getId())) {
+                writeTombstone(task.getId(), task.getAssignedTo().getId());
+            }
             task.setAssignedTo(engineer);
         }
 
         Task updatedTask = taskRepository.save(task);
+        publishChange(updatedTask.getId(), before, updatedTask, previousAssignee);
         return modelMapper.map(updatedTask, TaskResponse.class);
     }
 
     @Override
+    @Transactional
     public void deleteTask(Long id, String username) {
-        // Find task
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        AuthenticatedUser pm = userService.getAuthenticatedUser(username);
 
-        // Verify user is the creator (PM)
-        if (!task.getCreatedBy().getUsername().equals(username)) {
+        List<TaskRepository.DeletableTask> rows = taskRepository.findDeletableForCreator(pm.id(), List.of(id));
+        if (rows.isEmpty()) {
+            if (!taskRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Task not found");
+            }
             throw new AccessDeniedException("Access denied: You can only delete your own tasks");
         }
 
-        // Delete the task
-        taskRepository.delete(task);
+        softDelete(pm, rows);
+    }
+
+    /**
+     * Tasks that do not exist or belong to another PM are skipped
+     */
+    @Override
+    @Transactional
+    public int deleteTasks(List<Long> ids, String username) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("INVALID_TASK_IDS", "At least one task id is required");
+        }
+
+        AuthenticatedUser pm = userService.getAuthenticatedUser(username);
+        List<TaskRepository.DeletableTask> rows = taskRepository.findDeletableForCreator(pm.id(), new LinkedHashSet<>(ids));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        return softDelete(pm, rows);
+    }
+
+    /**
+     * Marks the tasks deleted with one UPDATE and leaves tombstones for delta-sync clients.
+     * The rows are physically removed later by TaskPurgeJob.
+     */
+    private int softDelete(AuthenticatedUser pm, List<TaskRepository.DeletableTask> rows) {
+        List<Long> ids = rows.stream().map(TaskRepository.DeletableTask::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        taskTombstoneRepository.insertForTasks(ids, pm.id(), now);
+        taskTombstoneRepository.insertForAssignees(ids, now);
+        int deleted = taskRepository.softDelete(ids, now);
+
+        rows.forEach(row -> publishChange(row.getId(),
+                new Contribution(row.getAssignedToId(), row.getStatus(), row.getTimeEstimate(), row.getEndDateTime()),
+                null, pm.username(), row.getAssignedToUsername()));
+        return deleted;
+    }
+
+    /**
+     * Validates the move once, locks the matching open tasks, then moves them all with a
+     * single UPDATE instead of one load/save round trip per task. Approved tasks stay with
+     * their engineer since their schedule is already fixed.
+     */
+    @Override
+    @Transactional
+    public BulkReassignResponse reassignTasks(BulkReassignRequest request, String username) {
+        AuthenticatedUser pm = userService.getAuthenticatedUser(username);
+
+        if (pm.role() != Role.PROJECT_MANAGER) {
+            throw new AccessDeniedException("Only Project Managers can reassign tasks");
+        }
+
+        if (request.getFromEngineerId() == null) {
+            throw new RequiredFieldException("fromEngineerId");
+        }
+        if (request.getToEngineerId() == null) {
+            throw new RequiredFieldException("toEngineerId");
+        }
+        if (request.getFromEngineerId().equals(request.getToEngineerId())) {
+            throw new ValidationException("INVALID_REASSIGNMENT", "Source and target engineer must differ");
+        }
+        if (request.getTaskIds() != null && request.getTaskIds().isEmpty()) {
+            throw new ValidationException("INVALID_REASSIGNMENT", "taskIds must not be empty when provided");
+        }
+
+        User from = userService.getUserById(request.getFromEngineerId());
+        User to = userService.getUserById(request.getToEngineerId());
+        if (from.getRole() != Role.ENGINEER || to.getRole() != Role.ENGINEER) {
+            throw new AccessDeniedException("Tasks can only be assigned to Engineers");
+        }
+
+        List<TaskRepository.ReassignableTask> selected = request.getTaskIds() == null
+                ? taskRepository.lockOpenForReassignment(pm.id(), from.getId(), TaskStatus.APPROVED)
+                : taskRepository.lockOpenForReassignment(pm.id(), from.getId(), TaskStatus.APPROVED,
+                        new LinkedHashSet<>(request.getTaskIds()));
+
+        List<Long> reassignedIds = selected.stream()
+                .map(TaskRepository.ReassignableTask::getId)
+                .toList();
+
+        int reassigned = 0;
+        if (!reassignedIds.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            taskTombstoneRepository.insertForTasks(reassignedIds, from.getId(), now);
+            reassigned = taskRepository.reassign(reassignedIds, to, now);
+        }
+
+        Set<Long> requestedIds = request.getTaskIds() == null
+                ? new LinkedHashSet<>()
+                : new LinkedHashSet<>(request.getTaskIds());
+        int requestedCount = request.getTaskIds() == null ? reassignedIds.size() : requestedIds.size();
+        requestedIds.removeAll(new HashSet<>(reassignedIds));
+        List<Long> skippedIds = List.copyOf(requestedIds);
+
+        List<Contribution> before = selected.stream()
+                .map(row -> new Contribution(from.getId(), row.getStatus(), row.getTimeEstimate(), row.getEndDateTime()))
+                .toList();
+        List<Contribution> after = selected.stream()
+                .map(row -> new Contribution(to.getId(), row.getStatus(), row.getTimeEstimate(), row.getEndDateTime()))
+                .toList();
+
+        engineerWorkloadCache.moveOnCommit(before, after);
+        AfterCommit.run(() -> {
+            if (!before.isEmpty()) {
+                replicaLagGuard.recordWrite(List.of(pm.username(), from.getUsername(), to.getUsername()));
+                resourceVersionRegistry.bumpTasks(pm.username());
+                resourceVersionRegistry.bumpTasks(from.getUsername());
+                resourceVersionRegistry.bumpTasks(to.getUsername());
+            }
+            taskSearchIndex.reassign(reassignedIds, to.getId());
+            engineerAvailabilityQueue.refresh(from.getId());
+            engineerAvailabilityQueue.refresh(to.getId());
+        });
+
+        return BulkReassignResponse.builder()
+                .fromEngineerId(from.getId())
+                .toEngineerId(to.getId())
+                .requestedCount(requestedCount)
+                .reassignedCount(reassigned)
+                .reassignedTaskIds(reassignedIds)
+                .skippedTaskIds(skippedIds)
+                .build();
+    }
+
+    private void writeTombstone(Long taskId, Long userId) {
+        taskTombstoneRepository.save(TaskTombstone.builder()
+                .taskId(taskId)
+                .userId(userId)
+                .build());
+    }
+
+    /**
+     * Bring the in-memory read models in line with a task change once it commits.
+     * {@code before} is null for new tasks and {@code after} is null for deleted ones;
+     * {@code formerUsers} names users who could see the task before but may not after.
+     */
+    private void publishChange(Long taskId, Contribution before, Task after, String... formerUsers) {
+        Contribution afterContribution = after != null ? EngineerWorkloadCache.contributionOf(after) : null;
+
+        // A former assignee is null when the task was unassigned
+        Set<String> affectedUsers = Arrays.stream(formerUsers)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        if (after != null) {
+            affectedUsers.add(after.getCreatedBy().getUsername());
+            if (after.getAssignedTo() != null) {
+                affectedUsers.add(after.getAssignedTo().getUsername());
+            }
+        }
+
+        engineerWorkloadCache.moveOnCommit(before, afterContribution);
+        AfterCommit.run(() -> {
+            // Pin before bumping, so no reader can cache replica data under the new version
+            replicaLagGuard.recordWrite(affectedUsers);
+            affectedUsers.forEach(resourceVersionRegistry::bumpTasks);
+            if (before != null) {
+                engineerAvailabilityQueue.refresh(before.engineerId());
+            }
+            if (afterContribution != null && (before == null
+                    || !Objects.equals(before.engineerId(), afterContribution.engineerId()))) {
+                engineerAvailabilityQueue.refresh(afterContribution.engineerId());
+            }
+            if (after != null) {
+                taskTimelineIndex.upsert(after);
+                taskSearchIndex.upsert(after);
+            } else {
+                taskTimelineIndex.remove(taskId);
+                taskSearchIndex.remove(taskId);
+            }
+        });
+    }
+
+    /**
+     * The per-status aggregate and the overdue count are independent GROUP BY / COUNT
+     * queries, so they run concurrently on virtual threads, each in its own read-only
+     * repository transaction. The executor is scoped to this call: it is closed (and
+     * therefore joined) before the method returns, and a failure cancels the sibling.
+     * The caller's security context travels with both queries, so replica routing still
+     * knows whose recent writes to honour.
+     */
+    @Override
+    public TaskSummaryResponse getTaskSummary(String username) {
+        AuthenticatedUser user = userService.getAuthenticatedUser(username);
+        boolean engineer = user.isEngineer();
+        LocalDateTime now = LocalDateTime.now();
+
+        try (ExecutorService executor = new DelegatingSecurityContextExecutorService(
+                Executors.newVirtualThreadPerTaskExecutor())) {
+            // Whichever query fails first interrupts the other; the executor is this call's own
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            BiConsumer<Object, Throwable> stopOnFailure = (result, error) -> {
+                if (error != null && failure.compareAndSet(null, error)) {
+                    executor.shutdownNow();
+                }
+            };
+            CompletableFuture<List<TaskStatusSummary>> byStatus = CompletableFuture.supplyAsync(() -> engineer
+                    ? taskRepository.summarizeByStatusForAssignee(user.id())
+                    : taskRepository.summarizeByStatusForCreator(user.id()), executor)
+                    .whenComplete(stopOnFailure);
+            CompletableFuture<Long> overdue = CompletableFuture.supplyAsync(() -> engineer
+                    ? taskRepository.countOverdueForAssignee(user.id(), now)
+                    : taskRepository.countOverdueForCreator(user.id(), now), executor)
+                    .whenComplete(stopOnFailure);
+
+            awaitAll(CompletableFuture.allOf(byStatus, overdue), failure, executor);
+            List<TaskStatusSummary> statusSummaries = byStatus.join();
+            long overdueTasks = overdue.join();
+
+            return TaskSummaryResponse.builder()
+                    .totalTasks(statusSummaries.stream().mapToLong(TaskStatusSummary::getTaskCount).sum())
+                    .totalEstimateDays(statusSummaries.stream().mapToDouble(TaskStatusSummary::getEstimateDays).sum())
+                    .overdueTasks(overdueTasks)
+                    .byStatus(statusSummaries)
+                    .build();
+        }
+    }
+
+    /**
+     * Wait for every query, then rethrow the first failure rather than the interruption it caused
+     */
+    private void awaitAll(CompletableFuture<Void> all, AtomicReference<Throwable> failure, ExecutorService executor) {
+        try {
+            all.get();
+        } catch (ExecutionException e) {
+            Throwable cause = failure.get() instanceof CompletionException completion && completion.getCause() != null
+                    ? completion.getCause()
+                    : failure.get();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServerErrorException("TASK_SUMMARY_FAILED", "Failed to compute task summary");
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new ServerErrorException("TASK_SUMMARY_INTERRUPTED", "Task summary computation was interrupted");
+        }
+    }
+
+    /**
+     * Ranking happens in the in-memory index; only the winning page of tasks is then
+     * loaded by primary key, so no query ever scans titles or descriptions.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSearchResult> searchTasks(String username, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("INVALID_SEARCH_QUERY", "Search query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ValidationException("INVALID_SEARCH_LIMIT", "limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        AuthenticatedUser user = userService.getAuthenticatedUser(username);
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search(query, user.id(), user.isEngineer(), limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Task> tasks = taskRepository.findWithUsersByIdIn(hits.stream().map(TaskSearchIndex.Hit::taskId).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        return hits.stream()
+                .filter(hit -> tasks.containsKey(hit.taskId()))
+                .map(hit -> new TaskSearchResult(hit.score(), mapToResponse(tasks.get(hit.taskId()))))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<TaskResponse> getArchivedTasks(String username, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("INVALID_PAGE_REQUEST", "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        AuthenticatedUser user = userService.getAuthenticatedUser(username);
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Order.desc("endDateTime"), Sort.Order.desc("id")));
+
+        Page<ArchivedTask> archived = user.isEngineer()
+                ? archivedTaskRepository.findByAssignedToId(user.id(), pageRequest)
+                : archivedTaskRepository.findByCreatedById(user.id(), pageRequest);
+
+        return PagedResponse.of(archived.map(TaskServiceImpl::mapArchivedToResponse));
+    }
+
+    private static TaskResponse mapArchivedToResponse(ArchivedTask task) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .assignedToId(task.getAssignedTo() != null ? task.getAssignedTo().getId() : null)
+                .assignedToUsername(task.getAssignedTo() != null ? task.getAssignedTo().getUsername() : null)
+                .createdById(task.getCreatedBy().getId())
+                .createdByUsername(task.getCreatedBy().getUsername())
+                .timeEstimate(task.getTimeEstimate())
+                .startDateTime(task.getStartDateTime())
+                .endDateTime(task.getEndDateTime())
+                .status(task.getStatus().name())
+                .createdAt(task.getCreatedDateTime())
+                .updatedAt(task.getUpdatedDateTime())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskTimelineItem> getTimeline(String username, LocalDateTime from, LocalDateTime to, boolean inMemory) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ValidationException("INVALID_TIMELINE_WINDOW", "'from' must be before 'to'");
+        }
+
+        AuthenticatedUser user = userService.getAuthenticatedUser(username);
+        boolean engineer = user.isEngineer();
+
+        if (inMemory) {
+            return engineer
+                    ? taskTimelineIndex.findForAssignee(user.id(), from, to)
+                    : taskTimelineIndex.findForCreator(user.id(), from, to);
+        }
+
+        return engineer
+                ? taskRepository.findTimelineForAssignee(user.id(), from, to)
+                : taskRepository.findTimelineForCreator(user.id(), from, to);
+    }
+
+    /**
+     * Changes are read up to a short lag behind the clock, so a transaction that stamped
+     * its rows earlier but commits later is still picked up by the next sync. The cursor
+     * is the upper bound of the window, as epoch milliseconds; without one the full
+     * task list is returned.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(String username, String since) {
+        AuthenticatedUser user = userService.getAuthenticatedUser(username);
+        boolean engineer = user.isEngineer();
+
+        LocalDateTime from = since != null ? decodeCursor(since) : LocalDateTime.of(1970, 1, 1, 0, 0);
+        // TaskPurgeJob drops older tombstones, so removals since such a cursor may be lost
+        if (since != null && from.isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays))) {
+            throw new ResourceGoneException("SYNC_RESYNC_REQUIRED",
+                    "Sync cursor is older than " + tombstoneRetentionDays + " days; fetch the full list without since");
+        }
+        LocalDateTime until = LocalDateTime.now().minus(Duration.ofMillis(syncLagMillis)).truncatedTo(ChronoUnit.MILLIS);
+        if (until.isBefore(from)) {
+            until = from;
+        }
+
+        List<TaskResponse> upserts = (engineer
+                ? taskRepository.findChangedForAssignee(user.id(), from, until)
+                : taskRepository.findChangedForCreator(user.id(), from, until))
+                .stream()
+                .map(TaskServiceImpl::mapToResponse)
+                .toList();
+
+        List<Long> deletedIds = List.of();
+        if (since != null) {
+            Set<Long> upsertIds = upserts.stream().map(TaskResponse::getId).collect(Collectors.toSet());
+            deletedIds = taskTombstoneRepository.findTaskIdsRemovedForUser(user.id(), from, until).stream()
+                    .filter(id -> !upsertIds.contains(id))
+                    .toList();
+        }
+
+        return TaskChangesResponse.builder()
+                .upserts(upserts)
+                .deletedIds(deletedIds)
+                .nextCursor(encodeCursor(until))
+                .build();
+    }
+
+    private String encodeCursor(LocalDateTime value) {
+        return Long.toString(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private LocalDateTime decodeCursor(String cursor) {
+        try {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(cursor)), ZoneId.systemDefault());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("INVALID_SYNC_CURSOR", "Invalid sync cursor: " + cursor);
+        }
     }
 }
@@ -1,13 +1,23 @@
 package com.thilina.WorkingTimeApplication.service.impl;
 
+import com.thilina.WorkingTimeApplication.cache.EngineerDirectoryIndex;
+import com.thilina.WorkingTimeApplication.cache.EngineerDirectoryIndex.Engineer;
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkload;
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkloadCache;
+import com.thilina.WorkingTimeApplication.config.jwt.JwtPrincipal;
+import com.thilina.WorkingTimeApplication.dto.AuthenticatedUser;
+import com.thilina.WorkingTimeApplication.dto.PagedResponse;
 import com.thilina.WorkingTimeApplication.dto.UserResponse;
 import com.thilina.WorkingTimeApplication.enums.Role;
 import com.thilina.WorkingTimeApplication.model.User;
 import com.thilina.WorkingTimeApplication.repository.UserRepository;
 import com.thilina.WorkingTimeApplication.service.UserService;
 import com.thilina.WorkingTimeApplication.util.exception.ResourceNotFoundException;
+import com.thilina.WorkingTimeApplication.util.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
@@ -18,7 +28,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
+    private final EngineerWorkloadCache engineerWorkloadCache;
+    private final EngineerDirectoryIndex engineerDirectoryIndex;
 
     @Override
     public User getUserById(Long id) {
@@ -32,12 +46,33 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
     }
 
+    /**
+     * Taken from the verified token of the current request when it carries the user id,
+     * so no query is needed. Older tokens and calls outside a request fall back to a lookup.
+     */
+    @Override
+    public AuthenticatedUser getAuthenticatedUser(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof JwtPrincipal principal
+                && principal.carriesIdentity()
+                && principal.username().equals(username)) {
+            return new AuthenticatedUser(principal.userId(), principal.username(), Role.valueOf(principal.role()));
+        }
+
+        User user = getUserByUsername(username);
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+    }
+
 
+    /**
+     * Served from the engineer directory, so no query is needed once it is loaded
+     */
     @Override
     public List<UserResponse> getAllEngineers() {
         log.info("Fetching all users with role ENGINEER");
 
-        List<User> engineers = userRepository.findByRole(Role.ENGINEER);
+        List<Engineer> engineers = engineerDirectoryIndex.all();
 
         if (engineers.isEmpty()) {
             log.warn("No engineers found in the system");
@@ -45,16 +80,35 @@ public class UserServiceImpl implements UserService {
         }
 
         return engineers.stream()
-                .map(user -> new UserResponse(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getFirstName(),
-                        user.getLastName(),
-                        user.getEmail(),
-                        user.getPhoneNo(),
-                        user.getRole().name()
-                ))
+                .map(this::mapToEngineerResponse)
                 .toList();
     }
 
+    @Override
+    public PagedResponse<UserResponse> getEngineerDirectory(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("INVALID_PAGE_REQUEST", "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PagedResponse.of(engineerDirectoryIndex.search(query, page, size).map(this::mapToEngineerResponse));
+    }
+
+    /**
+     * Workload comes from the incrementally maintained cache, not from an aggregation query
+     */
+    private UserResponse mapToEngineerResponse(Engineer engineer) {
+        EngineerWorkload workload = engineerWorkloadCache.get(engineer.id());
+        return new UserResponse(
+                engineer.id(),
+                engineer.username(),
+                engineer.firstName(),
+                engineer.lastName(),
+                engineer.email(),
+                engineer.phoneNo(),
+                Role.ENGINEER.name(),
+                workload.openTasks(),
+                workload.openEstimateDays(),
+                workload.scheduledUntil()
+        );
+    }
+
 }
@@ -0,0 +1,57 @@
+package com.thilina.WorkingTimeApplication.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out user_session ids without a database round trip per session.
+ *
+ * A session's id is its token's jti, so it is needed before the row is written. Each
+ * instance reserves a block of ids from id_block in one short transaction of its own and
+ * serves the block from memory; ids left over at shutdown are simply never used.
+ */
+@Slf4j
+@Component
+public class SessionIdAllocator {
+
+    private static final String BLOCK_NAME = "user_session";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+
+    @Value("${session.id-block-size:1000}")
+    private int blockSize;
+
+    private long next;
+    private long limit;
+
+    public SessionIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public synchronized long nextId() {
+        if (next >= limit) {
+            reserveBlock();
+        }
+        return next++;
+    }
+
+    private void reserveBlock() {
+        Long start = reserveTransaction.execute(status -> {
+            Long nextVal = jdbcTemplate.queryForObject(
+                    "select next_val from id_block where name = ? for update", Long.class, BLOCK_NAME);
+            jdbcTemplate.update("update id_block set next_val = ? where name = ?", nextVal + blockSize, BLOCK_NAME);
+            return nextVal;
+        });
+        next = start;
+        limit = start + blockSize;
+        log.debug("Reserved session ids {} to {}", next, limit - 1);
+    }
+}
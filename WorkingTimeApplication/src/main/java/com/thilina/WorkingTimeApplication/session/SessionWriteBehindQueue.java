@@ -0,0 +1,313 @@
+package com.thilina.WorkingTimeApplication.session;
+
+import com.thilina.WorkingTimeApplication.config.jwt.TokenRevocationList;
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository;
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository.ActiveSession;
+import com.thilina.WorkingTimeApplication.util.exception.ServerErrorException;
+import com.thilina.WorkingTimeApplication.util.exception.ServiceUnavailableException;
+import com.thilina.WorkingTimeApplication.util.transaction.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Writes session bookkeeping behind the login response.
+ *
+ * Logins and logouts enqueue their session changes and return; a single writer thread
+ * collects whatever arrives within flush-interval-ms and applies it in one transaction:
+ * one SELECT and one UPDATE for every user whose sessions end, and one JDBC batch insert
+ * for the new sessions. Changes to the same user within a batch are coalesced in memory,
+ * so a session started and ended inside one window is inserted already inactive. Tokens
+ * of the ended sessions are revoked once the batch commits.
+ *
+ * The batch is one Envers revision: a revinfo row, then one batch insert into
+ * user_session_aud with an ADD for every new session and a MOD for every ended one,
+ * each carrying the state the session is left in, as Envers would have recorded it.
+ *
+ * By default a change lost in a crash between enqueue and flush is accepted: a lost start
+ * leaves a valid token without a row, a lost end leaves the old token valid until it
+ * expires. With session.write-behind.strict=true every call waits for its batch to commit
+ * (still sharing the batch with concurrent logins) and fails if the write fails.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionWriteBehindQueue {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int REVTYPE_ADD = 0;
+    private static final int REVTYPE_MOD = 1;
+
+    private final SessionIdAllocator sessionIdAllocator;
+    private final UserSessionRepository userSessionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Value("${session.write-behind.strict:false}")
+    private boolean strict;
+
+    @Value("${session.write-behind.flush-interval-ms:5}")
+    private long flushIntervalMillis;
+
+    @Value("${session.write-behind.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${session.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${session.write-behind.strict-timeout-ms:5000}")
+    private long strictTimeoutMillis;
+
+    private BlockingQueue<SessionChange> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    /**
+     * A session starts, optionally ending the user's other sessions first
+     */
+    private record SessionStarted(long sessionId, long userId, LocalDateTime startedAt, LocalDateTime expiresAt,
+                                  boolean endsOthers, CompletableFuture<Void> written) implements SessionChange {
+    }
+
+    /**
+     * All of the user's sessions end
+     */
+    private record SessionsEnded(long userId, LocalDateTime endedAt,
+                                 CompletableFuture<Void> written) implements SessionChange {
+    }
+
+    private sealed interface SessionChange permits SessionStarted, SessionsEnded {
+        long userId();
+
+        CompletableFuture<Void> written();
+    }
+
+    /**
+     * A session row to insert, as it stands after the batch's later changes
+     */
+    private static final class PendingInsert {
+        private final SessionStarted started;
+        private boolean active = true;
+        private LocalDateTime updatedAt;
+
+        private PendingInsert(SessionStarted started) {
+            this.started = started;
+            this.updatedAt = started.startedAt();
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new LinkedBlockingQueue<>(capacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "session-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Flush what is queued before the data source goes away
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Start a session for the user and return its id, to be used as the token's jti
+     *
+     * @param endsOthers whether the user's existing sessions end, as on login
+     */
+    public long startSession(long userId, Instant expiresAt, boolean endsOthers) {
+        long sessionId = sessionIdAllocator.nextId();
+        submit(new SessionStarted(sessionId, userId, LocalDateTime.now(),
+                LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()), endsOthers, new CompletableFuture<>()));
+        return sessionId;
+    }
+
+    /**
+     * End all of the user's sessions, as on logout
+     */
+    public void endSessions(long userId) {
+        submit(new SessionsEnded(userId, LocalDateTime.now(), new CompletableFuture<>()));
+    }
+
+    private void submit(SessionChange change) {
+        if (!queue.offer(change)) {
+            throw new ServiceUnavailableException("SESSION_QUEUE_FULL", "Too many sign-in requests, please retry shortly");
+        }
+        if (!strict) {
+            return;
+        }
+
+        try {
+            change.written().get(strictTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("SESSION_WRITE_TIMEOUT", "Session could not be stored in time");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("SESSION_WRITE_INTERRUPTED", "Session write was interrupted");
+        } catch (ExecutionException e) {
+            throw new ServerErrorException("SESSION_WRITE_FAILED", "Session could not be stored");
+        }
+    }
+
+    private void writeLoop() {
+        List<SessionChange> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                SessionChange first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Let concurrent logins join this batch
+                if (running && flushIntervalMillis > 0) {
+                    Thread.sleep(flushIntervalMillis);
+                }
+                queue.drainTo(batch, maxBatch - 1);
+                flushWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushWithRetry(List<SessionChange> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flush(batch);
+                batch.forEach(change -> change.written().complete(null));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.error("Dropped {} session changes after {} attempts: {}", batch.size(), attempt, e.getMessage(), e);
+                    batch.forEach(change -> change.written().completeExceptionally(e));
+                    return;
+                }
+                log.warn("Session write failed, retrying: {}", e.getMessage());
+                Thread.sleep(50L * attempt);
+            }
+        }
+    }
+
+    /**
+     * Apply a batch in arrival order: ends reach the rows already stored through one UPDATE,
+     * and the batch's own new sessions in memory before they are inserted
+     */
+    private void flush(List<SessionChange> batch) {
+        Map<Long, LocalDateTime> endedUsers = new LinkedHashMap<>();
+        Map<Long, PendingInsert> inserts = new LinkedHashMap<>();
+
+        for (SessionChange change : batch) {
+            boolean endsOthers = change instanceof SessionsEnded || ((SessionStarted) change).endsOthers();
+            LocalDateTime at = change instanceof SessionStarted started ? started.startedAt() : ((SessionsEnded) change).endedAt();
+            if (endsOthers) {
+                endedUsers.put(change.userId(), at);
+                inserts.values().stream()
+                        .filter(pending -> pending.active && pending.started.userId() == change.userId())
+                        .forEach(pending -> {
+                            pending.active = false;
+                            pending.updatedAt = at;
+                        });
+            }
+            if (change instanceof SessionStarted started) {
+                inserts.put(started.sessionId(), new PendingInsert(started));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ActiveSession> ended = List.of();
+            if (!endedUsers.isEmpty()) {
+                ended = userSessionRepository.findActiveByUserIds(endedUsers.keySet());
+                if (!ended.isEmpty()) {
+                    userSessionRepository.deactivateActive(endedUsers.keySet(), LocalDateTime.now());
+                }
+            }
+
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate("insert into user_session (id, user_id, active, created_date_time, " +
+                                "updated_date_time, expires_date_time) values (?, ?, ?, ?, ?, ?)",
+                        inserts.values().stream()
+                                .map(pending -> new Object[]{
+                                        pending.started.sessionId(),
+                                        pending.started.userId(),
+                                        pending.active,
+                                        Timestamp.valueOf(pending.started.startedAt()),
+                                        Timestamp.valueOf(pending.updatedAt),
+                                        Timestamp.valueOf(pending.started.expiresAt())})
+                                .toList());
+            }
+
+            writeAudit(ended, inserts.values());
+
+            List<ActiveSession> endedStored = ended;
+            AfterCommit.run(() -> {
+                endedStored.forEach(session -> tokenRevocationList.revoke(session.getId(), session.getExpiresDateTime()));
+                inserts.values().stream()
+                        .filter(pending -> !pending.active)
+                        .forEach(pending -> tokenRevocationList.revoke(
+                                pending.started.sessionId(), pending.started.expiresAt()));
+            });
+        });
+
+        log.debug("Wrote {} session changes: {} users ended, {} sessions inserted",
+                batch.size(), endedUsers.size(), inserts.size());
+    }
+
+    /**
+     * Record the batch as one revision of the sessions it touched
+     */
+    private void writeAudit(List<ActiveSession> ended, Collection<PendingInsert> inserts) {
+        if (ended.isEmpty() && inserts.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "insert into revinfo (revtstmp) values (?)", Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, System.currentTimeMillis());
+            return statement;
+        }, keyHolder);
+        int rev = Objects.requireNonNull(keyHolder.getKey(), "revinfo did not return a revision").intValue();
+
+        List<Object[]> rows = new ArrayList<>(ended.size() + inserts.size());
+        ended.forEach(session -> rows.add(new Object[]{session.getId(), rev, REVTYPE_MOD, false, session.getUserId()}));
+        inserts.forEach(pending -> rows.add(new Object[]{
+                pending.started.sessionId(), rev, REVTYPE_ADD, pending.active, pending.started.userId()}));
+        jdbcTemplate.batchUpdate("insert into user_session_aud (id, rev, revtype, active, user_id) " +
+                "values (?, ?, ?, ?, ?)", rows);
+    }
+}
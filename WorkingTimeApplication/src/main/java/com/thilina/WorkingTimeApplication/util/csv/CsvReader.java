@@ -0,0 +1,76 @@
+package com.thilina.WorkingTimeApplication.util.csv;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, fields optionally quoted, "" inside quotes for a
+ * quote, line breaks allowed inside quoted fields, CRLF or LF line endings. Blank lines are
+ * skipped. The counterpart of the quoting done by the task export.
+ */
+public final class CsvReader {
+
+    private CsvReader() {
+    }
+
+    /**
+     * Parse the whole document into records of fields
+     *
+     * @throws IllegalArgumentException when a quoted field is never closed
+     */
+    public static List<List<String>> parse(String text) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRecord(records, fields, field, fieldStarted);
+                fields = new ArrayList<>();
+                fieldStarted = false;
+            } else {
+                field.append(c);
+                fieldStarted = true;
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field in CSV");
+        }
+        endRecord(records, fields, field, fieldStarted);
+        return records;
+    }
+
+    private static void endRecord(List<List<String>> records, List<String> fields, StringBuilder field,
+                                  boolean fieldStarted) {
+        if (fieldStarted || !fields.isEmpty()) {
+            fields.add(field.toString());
+            records.add(fields);
+        }
+        field.setLength(0);
+    }
+}
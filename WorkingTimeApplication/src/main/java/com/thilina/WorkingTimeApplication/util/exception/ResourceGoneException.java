@@ -0,0 +1,16 @@
+package com.thilina.WorkingTimeApplication.util.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ResourceGoneException extends BaseException {
+
+    private static final long serialVersionUID = 6124783590214457310L;
+    private final String code;
+    private final String message;
+
+    public ResourceGoneException(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+}
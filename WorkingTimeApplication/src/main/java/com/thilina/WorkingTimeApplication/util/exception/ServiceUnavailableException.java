@@ -0,0 +1,16 @@
+package com.thilina.WorkingTimeApplication.util.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableException extends BaseException {
+
+    private static final long serialVersionUID = -6208453179374960851L;
+    private final String code;
+    private final String message;
+
+    public ServiceUnavailableException(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+}
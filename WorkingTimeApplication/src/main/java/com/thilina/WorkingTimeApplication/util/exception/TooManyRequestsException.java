@@ -0,0 +1,18 @@
+package com.thilina.WorkingTimeApplication.util.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends BaseException {
+
+    private static final long serialVersionUID = 3650127716420963288L;
+    private final String code;
+    private final String message;
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String code, String message, long retryAfterSeconds) {
+        this.code = code;
+        this.message = message;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
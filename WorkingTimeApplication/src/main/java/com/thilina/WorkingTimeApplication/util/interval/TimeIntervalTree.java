@@ -0,0 +1,103 @@
+package com.thilina.WorkingTimeApplication.util.interval;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable, array-backed augmented interval tree over half-open [start, end) time intervals.
+ *
+ * Values are sorted by start and laid out as an implicit balanced BST (the middle of every
+ * range is its root). Each node also stores the greatest end in its subtree, so an overlap
+ * query only descends into subtrees that can contain a match: O(log n + k).
+ */
+public final class TimeIntervalTree<T> {
+
+    private final List<T> values;
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+    private final LocalDateTime[] maxEnds;
+
+    private TimeIntervalTree(List<T> values, LocalDateTime[] starts, LocalDateTime[] ends) {
+        this.values = values;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new LocalDateTime[values.size()];
+        computeMaxEnds(0, values.size());
+    }
+
+    public static <T> TimeIntervalTree<T> build(Collection<T> items,
+                                                Function<T, LocalDateTime> startOf,
+                                                Function<T, LocalDateTime> endOf) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(startOf));
+
+        LocalDateTime[] starts = new LocalDateTime[sorted.size()];
+        LocalDateTime[] ends = new LocalDateTime[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            starts[i] = startOf.apply(sorted.get(i));
+            ends[i] = endOf.apply(sorted.get(i));
+        }
+
+        return new TimeIntervalTree<>(sorted, starts, ends);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * All values whose interval overlaps [from, to), ordered by start.
+     */
+    public List<T> query(LocalDateTime from, LocalDateTime to) {
+        List<T> result = new ArrayList<>();
+        collect(0, values.size(), from, to, result);
+        return result;
+    }
+
+    private LocalDateTime computeMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        LocalDateTime max = ends[mid];
+        LocalDateTime left = computeMaxEnds(lo, mid);
+        LocalDateTime right = computeMaxEnds(mid + 1, hi);
+        if (left != null && left.isAfter(max)) {
+            max = left;
+        }
+        if (right != null && right.isAfter(max)) {
+            max = right;
+        }
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, LocalDateTime from, LocalDateTime to, List<T> result) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+
+        // Nothing in this subtree ends after the window starts
+        if (!maxEnds[mid].isAfter(from)) {
+            return;
+        }
+
+        collect(lo, mid, from, to, result);
+
+        // This node and everything to its right start at or after the window end
+        if (!starts[mid].isBefore(to)) {
+            return;
+        }
+
+        if (ends[mid].isAfter(from)) {
+            result.add(values.get(mid));
+        }
+
+        collect(mid + 1, hi, from, to, result);
+    }
+}
@@ -0,0 +1,74 @@
+package com.thilina.WorkingTimeApplication.util.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket per key, implemented as the generic cell rate algorithm.
+ *
+ * Each key keeps a single number, the theoretical arrival time (TAT): the instant at which
+ * its bucket would be full again. An attempt moves TAT forward by one emission interval and
+ * is allowed while TAT stays within burst intervals of now. The update is one CAS on an
+ * AtomicLong, so concurrent attempts on a key never block each other.
+ *
+ * A key idle for burst intervals has a full bucket, which is exactly what a missing key
+ * means, so entries expire after that much inactivity without changing any answer.
+ */
+public final class GcraRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> theoreticalArrivals;
+
+    /**
+     * @param burst attempts allowed at once from a full bucket
+     * @param period time for an empty bucket to refill completely
+     */
+    public GcraRateLimiter(int burst, Duration period, int maximumKeys) {
+        this(burst, period, maximumKeys, Ticker.systemTicker());
+    }
+
+    GcraRateLimiter(int burst, Duration period, int maximumKeys, Ticker ticker) {
+        if (burst < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a burst of at least 1 and a positive period");
+        }
+        this.emissionIntervalNanos = period.toNanos() / burst;
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.ticker = ticker;
+        this.theoreticalArrivals = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Take one attempt from the key's bucket.
+     *
+     * @return 0 when allowed, otherwise the nanoseconds until the next attempt would be
+     */
+    public long tryAcquire(String key) {
+        AtomicLong theoreticalArrival = theoreticalArrivals.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = ticker.read();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        return theoreticalArrivals.estimatedSize();
+    }
+}
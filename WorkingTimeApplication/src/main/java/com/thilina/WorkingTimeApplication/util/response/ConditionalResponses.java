@@ -0,0 +1,39 @@
+package com.thilina.WorkingTimeApplication.util.response;
+
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Builds 200 responses for resources served with conditional GET support.
+ * The 304 short-circuit itself happens in the controller, through
+ * {@code WebRequest#checkNotModified}, before anything is loaded.
+ */
+public final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<SuccessResponseWrapper<T>> ok(T content, String eTag, LocalDateTime lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified.atZone(ZoneId.systemDefault()));
+        }
+        return builder.body(new SuccessResponseWrapper<>(content));
+    }
+
+    /**
+     * The most recent modification time among the given items, or null if none is known
+     */
+    public static <T> LocalDateTime latest(Collection<T> items, Function<T, LocalDateTime> modifiedAt) {
+        return items.stream()
+                .map(modifiedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+}
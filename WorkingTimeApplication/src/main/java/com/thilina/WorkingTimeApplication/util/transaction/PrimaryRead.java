@@ -0,0 +1,27 @@
+package com.thilina.WorkingTimeApplication.util.transaction;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transactions for reads that must be served by the primary.
+ *
+ * ReplicaRoutingDataSource sends read-only transactions, which repository methods use by
+ * default, to a replica. The in-memory indexes load their state once and then apply each
+ * change after it commits, ignoring changes while unloaded; a load from a lagging replica
+ * would miss a change committed just before it for good. Such loads run in a read-write
+ * transaction of their own instead, which always gets a primary connection even when the
+ * caller is inside a read-only one.
+ */
+public final class PrimaryRead {
+
+    private PrimaryRead() {
+    }
+
+    public static TransactionTemplate template(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
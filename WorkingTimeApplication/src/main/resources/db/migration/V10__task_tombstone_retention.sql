@@ -0,0 +1,4 @@
+-- Tombstone retention: tombstones older than the longest supported sync gap are purged.
+
+-- TaskTombstoneRepository.findExpiredIds: tombstones created before the cutoff, oldest first
+create index idx_task_tombstone_created on task_tombstone (created_date_time);
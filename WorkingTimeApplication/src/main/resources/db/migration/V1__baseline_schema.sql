@@ -0,0 +1,105 @@
+-- Baseline: the schema Hibernate generated for MySQL before migrations were introduced.
+-- Databases that were created by ddl-auto are baselined at this version and skip it,
+-- so everything added since lives in the later migrations.
+
+create table one_time_holiday (
+    date date,
+    created_date_time datetime(6),
+    id bigint not null auto_increment,
+    updated_date_time datetime(6),
+    description varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table recurring_holiday (
+    day integer,
+    month integer,
+    created_date_time datetime(6),
+    id bigint not null auto_increment,
+    updated_date_time datetime(6),
+    description varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table revinfo (
+    rev integer not null auto_increment,
+    revtstmp bigint,
+    primary key (rev)
+) engine=InnoDB;
+
+create table task (
+    time_estimate float(53),
+    assigned_to_id bigint,
+    created_by_id bigint not null,
+    created_date_time datetime(6),
+    end_date_time datetime(6),
+    id bigint not null auto_increment,
+    start_date_time datetime(6),
+    updated_date_time datetime(6),
+    description varchar(255),
+    title varchar(255),
+    status enum ('APPROVED','ASSIGNED','CREATED','ESTIMATED','IN_PROGRESS'),
+    primary key (id)
+) engine=InnoDB;
+
+create table user (
+    created_date_time datetime(6),
+    id bigint not null auto_increment,
+    updated_date_time datetime(6),
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    phone_no varchar(255),
+    username varchar(255),
+    role enum ('ENGINEER','PROJECT_MANAGER'),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_session (
+    active bit not null,
+    created_date_time datetime(6),
+    id bigint not null auto_increment,
+    updated_date_time datetime(6),
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_session_aud (
+    active bit,
+    rev integer not null,
+    revtype tinyint,
+    id bigint not null,
+    user_id bigint,
+    primary key (rev, id)
+) engine=InnoDB;
+
+create table working_hours (
+    end_time time(6),
+    is_active bit,
+    start_time time(6),
+    created_date_time datetime(6),
+    id bigint not null auto_increment,
+    updated_date_time datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+alter table task
+    add constraint FKt1sjwk9x13qt1i602os9r0nm5
+    foreign key (assigned_to_id)
+    references user (id);
+
+alter table task
+    add constraint FKsaw2pfw389opao1w32cljexhk
+    foreign key (created_by_id)
+    references user (id);
+
+alter table user_session
+    add constraint FKs2btlvdomqggby8a3dnlq98ks
+    foreign key (user_id)
+    references user (id);
+
+alter table user_session_aud
+    add constraint FKtjghqukjisegsqhg8v8edkvn7
+    foreign key (rev)
+    references revinfo (rev);
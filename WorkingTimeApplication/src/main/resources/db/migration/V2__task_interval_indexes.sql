@@ -0,0 +1,6 @@
+-- Timeline endpoint: tasks of a creator or assignee whose [start, end) interval overlaps a window.
+create index idx_task_created_by_interval
+    on task (created_by_id, start_date_time, end_date_time);
+
+create index idx_task_assigned_to_interval
+    on task (assigned_to_id, start_date_time, end_date_time);
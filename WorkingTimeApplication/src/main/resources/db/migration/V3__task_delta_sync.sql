@@ -0,0 +1,18 @@
+-- Delta sync: tasks changed since a cursor, and tombstones for tasks that left a user's list.
+create index idx_task_created_by_updated
+    on task (created_by_id, updated_date_time, id);
+
+create index idx_task_assigned_to_updated
+    on task (assigned_to_id, updated_date_time, id);
+
+create table task_tombstone (
+    created_date_time datetime(6),
+    id bigint not null auto_increment,
+    task_id bigint not null,
+    updated_date_time datetime(6),
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_task_tombstone_user_created
+    on task_tombstone (user_id, created_date_time, id);
@@ -0,0 +1,5 @@
+-- Soft delete: deleted tasks keep their row until TaskPurgeJob removes it.
+alter table task add column deleted_date_time datetime(6);
+
+create index idx_task_deleted
+    on task (deleted_date_time);
@@ -0,0 +1,32 @@
+-- Approved tasks moved out of the live table by TaskArchiveJob, keeping their original ids.
+create table archived_task (
+    time_estimate float(53),
+    archived_date_time datetime(6) not null,
+    assigned_to_id bigint,
+    created_by_id bigint not null,
+    created_date_time datetime(6),
+    end_date_time datetime(6),
+    id bigint not null,
+    start_date_time datetime(6),
+    updated_date_time datetime(6),
+    description varchar(255),
+    title varchar(255),
+    status enum ('APPROVED','ASSIGNED','CREATED','ESTIMATED','IN_PROGRESS'),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_archived_task_created_by_end
+    on archived_task (created_by_id, end_date_time);
+
+create index idx_archived_task_assigned_to_end
+    on archived_task (assigned_to_id, end_date_time);
+
+alter table archived_task
+    add constraint FKjijqp6po796gni05i6ih5rcf9
+    foreign key (assigned_to_id)
+    references user (id);
+
+alter table archived_task
+    add constraint FKoc0anhviswoppb7cpeq1wghue
+    foreign key (created_by_id)
+    references user (id);
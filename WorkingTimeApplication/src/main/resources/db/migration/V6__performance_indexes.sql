@@ -0,0 +1,28 @@
+-- Indexes backing every repository finder. Foreign keys already get an index from InnoDB,
+-- so these cover the lookups that otherwise scan: unique keys, enum filters and the
+-- per-user task aggregates. Every entity query on task also filters on
+-- deleted_date_time is null, so the task indexes carry it right after the equality key.
+
+-- UserRepository.findByUsername / existsByUsername
+create unique index uk_user_username on user (username);
+
+-- UserRepository.findByRole
+create index idx_user_role on user (role);
+
+-- OneTimeHolidayRepository.findByDate / existsByDate; the service already rejects duplicates
+create unique index uk_one_time_holiday_date on one_time_holiday (date);
+
+-- RecurringHolidayRepository.findByMonthAndDay
+create index idx_recurring_holiday_month_day on recurring_holiday (month, day);
+
+-- WorkingHoursRepository.findByIsActiveTrue
+create index idx_working_hours_active on working_hours (is_active);
+
+-- TaskRepository.findWithUsersByStatus, findLatestEndByAssignee, findArchivable
+create index idx_task_status_end on task (status, deleted_date_time, end_date_time);
+
+-- TaskRepository.summarizeByStatusForCreator, findByCreatedBy, lockOpenForReassignment
+create index idx_task_created_by_status on task (created_by_id, deleted_date_time, status);
+
+-- TaskRepository.summarizeByStatusForAssignee, findLatestEndForAssignee, findByAssignedTo
+create index idx_task_assigned_to_status on task (assigned_to_id, deleted_date_time, status, end_date_time);
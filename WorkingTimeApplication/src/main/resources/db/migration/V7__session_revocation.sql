@@ -0,0 +1,9 @@
+-- Tokens carry their session id as jti. A session remembers when its token expires,
+-- so a revoked (inactive) session only needs to be kept in the revocation list until then.
+alter table user_session add column expires_date_time datetime(6);
+
+-- TokenRevocationList load at startup: inactive sessions whose token has not expired
+create index idx_user_session_revoked on user_session (active, expires_date_time);
+
+-- TokenRevocationList incremental refresh: sessions deactivated since the last poll
+create index idx_user_session_active_updated on user_session (active, updated_date_time);
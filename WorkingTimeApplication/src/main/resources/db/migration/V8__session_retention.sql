@@ -0,0 +1,14 @@
+-- Set-based session deactivation and the session retention job.
+
+-- Sessions from before V7 never recorded an expiry; their tokens lived for the default 24 hours
+update user_session set expires_date_time = created_date_time + interval '1' day
+where expires_date_time is null;
+
+-- UserSessionRepository.findActiveByUserId / deactivateActive on every login and logout
+create index idx_user_session_user_active on user_session (user_id, active);
+
+-- UserSessionRepository.findPrunableIds: sessions whose token expired before the cutoff
+create index idx_user_session_expires on user_session (expires_date_time);
+
+-- UserSessionRepository.deleteAudit: the audit key is (rev, id), so deleting by id needs its own index
+create index idx_user_session_aud_id on user_session_aud (id);
@@ -0,0 +1,10 @@
+-- Session ids are handed out by SessionIdAllocator before the session row is written, since the
+-- id is the token's jti. Each instance reserves a block of ids at a time by advancing next_val.
+create table id_block (
+    name varchar(64) not null,
+    next_val bigint not null,
+    primary key (name)
+) engine=InnoDB;
+
+insert into id_block (name, next_val)
+select 'user_session', coalesce(max(id), 0) + 1 from user_session;
@@ -0,0 +1,153 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import com.thilina.WorkingTimeApplication.service.TimeCalculationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngineerAvailabilityQueueTest {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 2, 8, 0);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EngineerWorkloadCache engineerWorkloadCache;
+
+    @Mock
+    private TimeCalculationService timeCalculationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EngineerAvailabilityQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(queue, "defaultEstimateDays", 1.0);
+        at(START);
+        // Calendar time is enough to rank on
+        lenient().when(timeCalculationService.calculateEndDateTime(any(), anyDouble())).thenAnswer(invocation ->
+                invocation.<LocalDateTime>getArgument(0).plusMinutes(Math.round(invocation.<Double>getArgument(1) * 24 * 60)));
+    }
+
+    private void at(LocalDateTime now) {
+        ReflectionTestUtils.setField(queue, "clock", Clock.fixed(now.atZone(ZONE).toInstant(), ZONE));
+    }
+
+    private static User user(long id, Role role) {
+        return User.builder().id(id).username("user" + id).role(role).build();
+    }
+
+    private void workload(long engineerId, double openEstimateDays, LocalDateTime scheduledUntil) {
+        when(engineerWorkloadCache.get(engineerId)).thenReturn(
+                new EngineerWorkload(1, 0, openEstimateDays, scheduledUntil));
+    }
+
+    @Test
+    void testLeastLoaded_BusyEngineerRankedOnTheEndOfTheirWork() {
+        // 1: free now with a day queued; 2: busy for two more hours with nothing queued
+        workload(1L, 1.0, null);
+        workload(2L, 0.0, START.plusHours(2));
+        when(userRepository.findByRole(Role.ENGINEER)).thenReturn(List.of(user(1L, Role.ENGINEER), user(2L, Role.ENGINEER)));
+
+        assertEquals(Optional.of(2L), queue.leastLoaded());
+    }
+
+    @Test
+    void testLeastLoaded_ProjectsFreeEngineersFromTheTimeOfTheRead() {
+        // 1 is placed at the start with a day queued
+        workload(1L, 1.0, null);
+        when(userRepository.findByRole(Role.ENGINEER)).thenReturn(List.of(user(1L, Role.ENGINEER)));
+        assertEquals(Optional.of(1L), queue.leastLoaded());
+
+        // 2 registers 20 hours later and gets half a day; placed then, it would have ranked after 1
+        at(START.plusHours(20));
+        workload(2L, 0.5, null);
+        queue.upsert(user(2L, Role.ENGINEER));
+
+        assertEquals(Optional.of(2L), queue.leastLoaded());
+    }
+
+    @Test
+    void testLeastLoaded_BusyEngineerIsReprojectedOnceTheirWorkEnds() {
+        // 1 is busy for an hour with half a day queued, 2 is free with a quarter day
+        workload(1L, 0.5, START.plusHours(1));
+        workload(2L, 0.25, null);
+        when(userRepository.findByRole(Role.ENGINEER)).thenReturn(List.of(user(1L, Role.ENGINEER), user(2L, Role.ENGINEER)));
+        assertEquals(Optional.of(2L), queue.leastLoaded());
+
+        // Ten hours later 2 is re-ranked (free at 00:00). Projected from the end of their work,
+        // 1 would still be free at 21:00, but from now they need twelve hours against 2's six
+        at(START.plusHours(10));
+        queue.refresh(2L);
+
+        assertEquals(Optional.of(2L), queue.leastLoaded());
+    }
+
+    @Test
+    void testUpsert_DropsUsersWhoAreNoLongerEngineers() {
+        workload(1L, 0.0, null);
+        workload(2L, 3.0, null);
+        when(userRepository.findByRole(Role.ENGINEER)).thenReturn(List.of(user(1L, Role.ENGINEER), user(2L, Role.ENGINEER)));
+        assertEquals(Optional.of(1L), queue.leastLoaded());
+
+        queue.upsert(user(1L, Role.PROJECT_MANAGER));
+        // A workload change of the former engineer does not bring them back
+        queue.refresh(1L);
+
+        assertEquals(Optional.of(2L), queue.leastLoaded());
+        queue.remove(2L);
+        assertEquals(Optional.empty(), queue.leastLoaded());
+    }
+
+    @Test
+    void testInvalidate_ReloadsFromTheWorkloadCache() {
+        workload(1L, 0.0, null);
+        workload(2L, 1.0, null);
+        when(userRepository.findByRole(Role.ENGINEER)).thenReturn(List.of(user(1L, Role.ENGINEER), user(2L, Role.ENGINEER)));
+        assertEquals(Optional.of(1L), queue.leastLoaded());
+
+        // The archive job invalidated the workloads, which changed underneath
+        workload(1L, 2.0, null);
+        queue.invalidate();
+
+        assertEquals(Optional.of(2L), queue.leastLoaded());
+        verify(userRepository, times(2)).findByRole(Role.ENGINEER);
+    }
+
+    @Test
+    void testLeastLoaded_ListsEngineersOnThePrimary() {
+        workload(1L, 0.0, null);
+        when(userRepository.findByRole(Role.ENGINEER)).thenReturn(List.of(user(1L, Role.ENGINEER)));
+
+        assertEquals(Optional.of(1L), queue.leastLoaded());
+        // Own read-write transaction: read-only ones are routed to a replica
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                        && !definition.isReadOnly()));
+    }
+}
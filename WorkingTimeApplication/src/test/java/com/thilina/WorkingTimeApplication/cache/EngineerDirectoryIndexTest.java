@@ -0,0 +1,89 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.cache.EngineerDirectoryIndex.Engineer;
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngineerDirectoryIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EngineerDirectoryIndex engineerDirectoryIndex;
+
+    private static User engineer(Long id, String username, String firstName, String lastName) {
+        return User.builder().id(id).username(username).firstName(firstName).lastName(lastName)
+                .role(Role.ENGINEER).build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findByRole(Role.ENGINEER)).thenReturn(List.of(
+                engineer(1L, "jsmith", "John", "Smith"),
+                engineer(2L, "adoe", "Jane", "Doe"),
+                engineer(3L, "kperera", "Kamal", "Johnson")));
+    }
+
+    private List<String> usernames(Page<Engineer> page) {
+        return page.getContent().stream().map(Engineer::username).toList();
+    }
+
+    @Test
+    void testSearch_PrefixOfAnyNameOrderedByUsername() {
+        assertEquals(List.of("adoe", "jsmith", "kperera"), usernames(engineerDirectoryIndex.search("J", 0, 10)));
+        assertEquals(List.of("jsmith"), usernames(engineerDirectoryIndex.search("john  s", 0, 10)));
+        assertEquals(List.of(), usernames(engineerDirectoryIndex.search("x", 0, 10)));
+
+        Page<Engineer> second = engineerDirectoryIndex.search(null, 1, 2);
+        assertEquals(List.of("kperera"), usernames(second));
+        assertEquals(3, second.getTotalElements());
+        verify(userRepository, times(1)).findByRole(Role.ENGINEER);
+    }
+
+    @Test
+    void testUpsert_AddsRenamesAndDropsOnRoleChange() {
+        engineerDirectoryIndex.all();
+
+        engineerDirectoryIndex.upsert(engineer(4L, "bsilva", "Bimal", "Silva"));
+        engineerDirectoryIndex.upsert(engineer(1L, "jsmith", "Jonathan", "Smythe"));
+        User promoted = engineer(2L, "adoe", "Jane", "Doe");
+        promoted.setRole(Role.PROJECT_MANAGER);
+        engineerDirectoryIndex.upsert(promoted);
+
+        assertEquals(List.of("bsilva", "jsmith", "kperera"), usernames(engineerDirectoryIndex.search("", 0, 10)));
+        assertEquals(List.of("jsmith"), usernames(engineerDirectoryIndex.search("smy", 0, 10)));
+        assertEquals(List.of(), usernames(engineerDirectoryIndex.search("smith", 0, 10)));
+        assertEquals(List.of(), usernames(engineerDirectoryIndex.search("jane", 0, 10)));
+    }
+
+    @Test
+    void testSearch_LoadsFromThePrimary() {
+        assertEquals(List.of("jsmith"), usernames(engineerDirectoryIndex.search("smi", 0, 10)));
+
+        // Own read-write transaction: read-only ones are routed to a replica
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                        && !definition.isReadOnly()));
+    }
+}
@@ -0,0 +1,228 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkloadCache.Contribution;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EngineerWorkloadCacheTest {
+
+    private static final Long ENGINEER_ID = 2L;
+    private static final LocalDateTime LATEST_END = LocalDateTime.of(2026, 11, 2, 16, 0);
+
+    private TaskRepository taskRepository;
+    private PlatformTransactionManager transactionManager;
+    private EngineerWorkloadCache cache;
+
+    private record Workload(Long getEngineerId, Long getTaskCount, Long getEstimatedCount, Double getEstimateDays)
+            implements TaskRepository.AssigneeWorkload {
+    }
+
+    private record Schedule(Long getEngineerId, LocalDateTime getScheduledUntil)
+            implements TaskRepository.AssigneeSchedule {
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        cache = new EngineerWorkloadCache(taskRepository, transactionManager);
+        ReflectionTestUtils.setField(cache, "loadWaitMillis", 5_000L);
+
+        // One open task of 1.5 days and one approved task, as committed
+        when(taskRepository.summarizeOpenWorkByAssignee(TaskStatus.APPROVED))
+                .thenReturn(List.of(new Workload(ENGINEER_ID, 1L, 1L, 1.5)));
+        when(taskRepository.findLatestEndByAssignee(TaskStatus.APPROVED))
+                .thenReturn(List.of(new Schedule(ENGINEER_ID, LATEST_END)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Contribution open(double estimateDays) {
+        return new Contribution(ENGINEER_ID, TaskStatus.IN_PROGRESS, estimateDays, null);
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    @Test
+    void testMove_AppliedOnceCommitted() {
+        assertEquals(1, cache.get(ENGINEER_ID).openTasks());
+
+        beginTransaction();
+        cache.moveOnCommit(null, open(2.0));
+        assertEquals(1, cache.get(ENGINEER_ID).openTasks());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        EngineerWorkload workload = cache.get(ENGINEER_ID);
+        assertEquals(2, workload.openTasks());
+        assertEquals(3.5, workload.openEstimateDays(), 1e-9);
+    }
+
+    @Test
+    void testMove_RolledBackIsNotApplied() {
+        cache.get(ENGINEER_ID);
+
+        beginTransaction();
+        cache.moveOnCommit(null, open(2.0));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(1, cache.get(ENGINEER_ID).openTasks());
+        // The rolled back change no longer holds up a reload
+        cache.invalidate();
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> cache.get(ENGINEER_ID));
+    }
+
+    @Test
+    void testLoad_ChangeCommittedBeforeTheReadIsNotCountedTwice() throws Exception {
+        // The change has committed (the read below already includes it) but its move has not run yet
+        beginTransaction();
+        cache.moveOnCommit(null, open(1.5));
+        List<TransactionSynchronization> pending = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        CompletableFuture<EngineerWorkload> reader = CompletableFuture.supplyAsync(() -> cache.get(ENGINEER_ID));
+        // Give the reader the chance to load; it must wait for the change instead
+        Thread.sleep(100);
+        verify(taskRepository, never()).summarizeOpenWorkByAssignee(any());
+
+        pending.forEach(TransactionSynchronization::afterCommit);
+        pending.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(1, reader.get().openTasks());
+        assertEquals(1, cache.get(ENGINEER_ID).openTasks());
+    }
+
+    @Test
+    void testLoad_ServesSnapshotWhileChangesStayInFlight() {
+        ReflectionTestUtils.setField(cache, "loadWaitMillis", 20L);
+        beginTransaction();
+        cache.moveOnCommit(null, open(2.0));
+        List<TransactionSynchronization> pending = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(1, cache.get(ENGINEER_ID).openTasks());
+        assertEquals(1, cache.get(ENGINEER_ID).openTasks());
+        verify(taskRepository, times(2)).summarizeOpenWorkByAssignee(TaskStatus.APPROVED);
+
+        pending.forEach(TransactionSynchronization::afterCommit);
+        pending.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        cache.get(ENGINEER_ID);
+        cache.get(ENGINEER_ID);
+
+        // Loaded once the change completed, then served from memory
+        verify(taskRepository, times(3)).summarizeOpenWorkByAssignee(TaskStatus.APPROVED);
+    }
+
+    @Test
+    void testSubtract_RereadsLatestEndOnThePrimary() {
+        LocalDateTime previousEnd = LATEST_END.minusDays(3);
+        when(taskRepository.findLatestEndForAssignee(ENGINEER_ID, TaskStatus.APPROVED)).thenReturn(previousEnd);
+        cache.get(ENGINEER_ID);
+
+        cache.moveOnCommit(new Contribution(ENGINEER_ID, TaskStatus.APPROVED, 2.0, LATEST_END), null);
+
+        assertEquals(previousEnd, cache.get(ENGINEER_ID).scheduledUntil());
+        // Own read-write transaction: read-only ones are routed to a replica
+        verify(transactionManager, atLeastOnce()).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                        && !definition.isReadOnly()));
+    }
+
+    @Test
+    void testSubtract_EarlierApprovedEndKeepsTheLatest() {
+        cache.get(ENGINEER_ID);
+
+        cache.moveOnCommit(new Contribution(ENGINEER_ID, TaskStatus.APPROVED, 2.0, LATEST_END.minusDays(1)), null);
+
+        assertEquals(LATEST_END, cache.get(ENGINEER_ID).scheduledUntil());
+        verify(taskRepository, never()).findLatestEndForAssignee(any(), any());
+    }
+
+    @Test
+    void testLoad_ReadOverlappingAChangeIsReadAgain() {
+        when(taskRepository.summarizeOpenWorkByAssignee(TaskStatus.APPROVED)).thenAnswer(invocation -> {
+            // Read without the lock that after-commit moves wait on
+            assertFalse(Thread.holdsLock(cache));
+            beginTransaction();
+            cache.moveOnCommit(null, open(2.0));
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+            return List.of(new Workload(ENGINEER_ID, 1L, 1L, 1.5));
+        }).thenReturn(List.of(new Workload(ENGINEER_ID, 2L, 2L, 3.5)));
+
+        // The first read may or may not include the change, so it is not installed
+        assertEquals(2, cache.get(ENGINEER_ID).openTasks());
+        assertEquals(2, cache.get(ENGINEER_ID).openTasks());
+        verify(taskRepository, times(2)).summarizeOpenWorkByAssignee(TaskStatus.APPROVED);
+    }
+
+    @Test
+    void testSubtract_RereadOnTheNextReadOutsideTheLock() {
+        LocalDateTime previousEnd = LATEST_END.minusDays(3);
+        when(taskRepository.findLatestEndForAssignee(ENGINEER_ID, TaskStatus.APPROVED)).thenAnswer(invocation -> {
+            assertFalse(Thread.holdsLock(cache));
+            return previousEnd;
+        });
+        cache.get(ENGINEER_ID);
+
+        beginTransaction();
+        cache.moveOnCommit(new Contribution(ENGINEER_ID, TaskStatus.APPROVED, 2.0, LATEST_END), null);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(taskRepository, never()).findLatestEndForAssignee(any(), any());
+
+        assertEquals(previousEnd, cache.get(ENGINEER_ID).scheduledUntil());
+        assertEquals(previousEnd, cache.get(ENGINEER_ID).scheduledUntil());
+        verify(taskRepository, times(1)).findLatestEndForAssignee(ENGINEER_ID, TaskStatus.APPROVED);
+    }
+
+    @Test
+    void testSubtract_EndMovedDuringTheRereadIsReadAgain() {
+        LocalDateTime laterEnd = LATEST_END.plusDays(1);
+        when(taskRepository.findLatestEndForAssignee(ENGINEER_ID, TaskStatus.APPROVED)).thenAnswer(invocation -> {
+            // Another approval commits after this read
+            cache.moveOnCommit(null, new Contribution(ENGINEER_ID, TaskStatus.APPROVED, 1.0, laterEnd));
+            return LATEST_END.minusDays(3);
+        }).thenReturn(laterEnd);
+        cache.get(ENGINEER_ID);
+        cache.moveOnCommit(new Contribution(ENGINEER_ID, TaskStatus.APPROVED, 2.0, LATEST_END), null);
+
+        // The outdated read is dropped rather than overwriting the later end
+        assertEquals(laterEnd, cache.get(ENGINEER_ID).scheduledUntil());
+        assertEquals(laterEnd, cache.get(ENGINEER_ID).scheduledUntil());
+        cache.get(ENGINEER_ID);
+        verify(taskRepository, times(2)).findLatestEndForAssignee(ENGINEER_ID, TaskStatus.APPROVED);
+    }
+}
@@ -0,0 +1,58 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.model.OneTimeHoliday;
+import com.thilina.WorkingTimeApplication.model.RecurringHoliday;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.model.WorkingHours;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+class SecondLevelCacheTest {
+
+    private Cache cache;
+    private SecondLevelCache secondLevelCache;
+
+    @BeforeEach
+    void setUp() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        secondLevelCache = new SecondLevelCache(entityManagerFactory);
+    }
+
+    @Test
+    void testEvictUser_DropsTheUserAndEveryUserFinderResult() {
+        secondLevelCache.evictUser(7L);
+
+        verify(cache).evictEntityData(User.class, 7L);
+        verify(cache).evictQueryRegion(SecondLevelCache.USER_QUERIES);
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test
+    void testEvictUsers_DropsTheWholeUserRegion() {
+        secondLevelCache.evictUsers();
+
+        verify(cache).evictEntityData(User.class);
+        verify(cache).evictQueryRegion(SecondLevelCache.USER_QUERIES);
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test
+    void testEvictSettings_LeavesUsersCached() {
+        secondLevelCache.evictSettings();
+
+        verify(cache).evictEntityData(WorkingHours.class);
+        verify(cache).evictEntityData(OneTimeHoliday.class);
+        verify(cache).evictEntityData(RecurringHoliday.class);
+        verify(cache).evictQueryRegion(SecondLevelCache.SETTINGS_QUERIES);
+        verifyNoMoreInteractions(cache);
+    }
+}
@@ -0,0 +1,72 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.thilina.WorkingTimeApplication.dto.TaskResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListResponseCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 11, 2, 8, 0);
+
+    private TaskListResponseCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new TaskListResponseCache(new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(cache, "maxUsers", 2);
+        cache.init();
+    }
+
+    private Supplier<List<TaskResponse>> loader(long taskId) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(TaskResponse.builder().id(taskId).title("Task " + taskId).updatedAt(UPDATED_AT).build());
+        };
+    }
+
+    @Test
+    void testGet_ServesStoredBytesWhileTheVersionMatches() {
+        TaskListResponseCache.Entry built = cache.get("eng1", 3, loader(1L));
+        TaskListResponseCache.Entry served = cache.get("eng1", 3, loader(2L));
+
+        assertSame(built, served);
+        assertEquals(1, loads.get());
+        assertEquals(UPDATED_AT, served.lastModified());
+    }
+
+    @Test
+    void testGet_RebuildsOnANewVersionButKeepsTheNewerEntry() {
+        cache.get("eng1", 3, loader(1L));
+        TaskListResponseCache.Entry rebuilt = cache.get("eng1", 4, loader(2L));
+        assertEquals(4, rebuilt.version());
+
+        // A reader that saw the older version must not overwrite the newer entry
+        cache.get("eng1", 3, loader(3L));
+
+        assertSame(rebuilt, cache.get("eng1", 4, loader(4L)));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGet_BoundedToMaxUsers() {
+        for (int i = 0; i < 50; i++) {
+            cache.get("user" + i, 1, loader(i));
+        }
+        Cache<?, ?> entries = (Cache<?, ?>) ReflectionTestUtils.getField(cache, "entries");
+        entries.cleanUp();
+
+        assertTrue(entries.estimatedSize() <= 2);
+    }
+}
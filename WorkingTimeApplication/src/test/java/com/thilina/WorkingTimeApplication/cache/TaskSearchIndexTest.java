@@ -0,0 +1,125 @@
+package com.thilina.WorkingTimeApplication.cache;
+
+import com.thilina.WorkingTimeApplication.model.Task;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    private static final Long PM_ID = 1L;
+    private static final Long ENGINEER_ID = 2L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TaskSearchIndex taskSearchIndex;
+
+    private record Row(Long getId, String getTitle, String getDescription, Long getCreatedById, Long getAssignedToId)
+            implements TaskRepository.SearchableTask {
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskSearchIndex, "titleBoost", 3.0);
+        when(taskRepository.findAllForSearchIndex()).thenReturn(List.of(
+                new Row(10L, "Login page", "Build the form for the api", PM_ID, ENGINEER_ID),
+                new Row(11L, "Reporting", "Export the login audit to CSV", PM_ID, null),
+                new Row(12L, "Billing", "Invoices and payments", PM_ID, ENGINEER_ID),
+                new Row(13L, "Login for another PM", "Not visible", 99L, null)
+        ));
+    }
+
+    private List<Long> ids(List<TaskSearchIndex.Hit> hits) {
+        return hits.stream().map(TaskSearchIndex.Hit::taskId).toList();
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchAboveDescriptionMatch() {
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search("LOGIN", PM_ID, false, 10);
+
+        assertEquals(List.of(10L, 11L), ids(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void testSearch_OnlyReturnsTasksVisibleToEngineer() {
+        assertEquals(List.of(10L), ids(taskSearchIndex.search("login", ENGINEER_ID, true, 10)));
+    }
+
+    @Test
+    void testSearch_ReflectsIncrementalUpdates() {
+        taskSearchIndex.search("warmup", PM_ID, false, 10);
+
+        User pm = new User();
+        pm.setId(PM_ID);
+        Task task = new Task();
+        task.setId(12L);
+        task.setTitle("Payments login");
+        task.setCreatedBy(pm);
+
+        taskSearchIndex.upsert(task);
+        taskSearchIndex.remove(10L);
+
+        assertEquals(List.of(12L, 11L), ids(taskSearchIndex.search("login", PM_ID, false, 10)));
+        assertTrue(taskSearchIndex.search("invoices", PM_ID, false, 10).isEmpty());
+    }
+
+    @Test
+    void testReassign_MovesTasksBetweenEngineers() {
+        taskSearchIndex.search("warmup", PM_ID, false, 10);
+
+        taskSearchIndex.reassign(List.of(10L), 5L);
+
+        assertTrue(taskSearchIndex.search("login", ENGINEER_ID, true, 10).isEmpty());
+        assertEquals(List.of(10L), ids(taskSearchIndex.search("login", 5L, true, 10)));
+        // The creator's view is unchanged
+        assertEquals(List.of(10L, 11L), ids(taskSearchIndex.search("login", PM_ID, false, 10)));
+    }
+
+    @Test
+    void testSearch_OnlyKeepsPartitionsOfOwnersWithTasks() {
+        taskSearchIndex.search("warmup", PM_ID, false, 10);
+
+        taskSearchIndex.remove(13L);
+
+        assertTrue(taskSearchIndex.search("login", 99L, false, 10).isEmpty());
+        assertEquals(1, ((Map<?, ?>) ReflectionTestUtils.getField(taskSearchIndex, "byCreator")).size());
+        assertEquals(List.of(10L, 11L), ids(taskSearchIndex.search("login", PM_ID, false, 10)));
+    }
+
+    @Test
+    void testSearch_LimitsResults() {
+        assertEquals(1, taskSearchIndex.search("login", PM_ID, false, 1).size());
+    }
+
+    @Test
+    void testSearch_LoadsFromThePrimary() {
+        taskSearchIndex.search("login", PM_ID, false, 10);
+
+        // Own read-write transaction: read-only ones are routed to a replica
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                        && !definition.isReadOnly()));
+    }
+}
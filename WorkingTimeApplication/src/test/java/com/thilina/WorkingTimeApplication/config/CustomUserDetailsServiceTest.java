@@ -0,0 +1,110 @@
+package com.thilina.WorkingTimeApplication.config;
+
+import com.thilina.WorkingTimeApplication.cache.UserDetailsCache;
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private static final String OLD_HASH = "$2a$10$old";
+    private static final String NEW_HASH = "$2a$12$new";
+
+    private UserRepository userRepository;
+    private UserDetailsCache userDetailsCache;
+    private CustomUserDetailsService userDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userDetailsCache = new UserDetailsCache();
+        ReflectionTestUtils.setField(userDetailsCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.invokeMethod(userDetailsCache, "init");
+        userDetailsService = new CustomUserDetailsService(userRepository, userDetailsCache);
+
+        user = User.builder().id(2L).username("eng1").password(OLD_HASH).role(Role.ENGINEER).build();
+        when(userRepository.findByUsername("eng1")).thenAnswer(invocation -> Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    @Test
+    void testLoadUser_RepeatedLoginsServedFromTheCache() {
+        UserDetails first = userDetailsService.loadUserByUsername("eng1");
+        UserDetails second = userDetailsService.loadUserByUsername("eng1");
+
+        assertSame(first, second);
+        assertEquals(OLD_HASH, second.getPassword());
+        verify(userRepository, times(1)).findByUsername("eng1");
+    }
+
+    @Test
+    void testUpdatePassword_EvictsTheCachedAccountOnceCommitted() {
+        userDetailsService.loadUserByUsername("eng1");
+
+        beginTransaction();
+        UserDetails rehashed = userDetailsService.updatePassword(userDetailsService.loadUserByUsername("eng1"), NEW_HASH);
+        assertEquals(NEW_HASH, rehashed.getPassword());
+        // Until the new hash commits, logins keep checking against the stored one
+        assertEquals(OLD_HASH, userDetailsCache.getUserFromCache("eng1").getPassword());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertNull(userDetailsCache.getUserFromCache("eng1"));
+        assertEquals(NEW_HASH, userDetailsService.loadUserByUsername("eng1").getPassword());
+    }
+
+    @Test
+    void testUpdatePassword_RolledBackKeepsTheCachedAccount() {
+        userDetailsService.loadUserByUsername("eng1");
+
+        beginTransaction();
+        userDetailsService.updatePassword(userDetailsService.loadUserByUsername("eng1"), NEW_HASH);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(OLD_HASH, userDetailsCache.getUserFromCache("eng1").getPassword());
+    }
+
+    @Test
+    void testLoadUser_UnknownUsernameIsNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+}
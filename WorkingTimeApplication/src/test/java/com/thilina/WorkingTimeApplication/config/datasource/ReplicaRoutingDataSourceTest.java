@@ -0,0 +1,95 @@
+package com.thilina.WorkingTimeApplication.config.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes between two embedded H2 databases, each holding a marker row naming itself
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaLagGuard replicaLagGuard;
+    private DataSource primary;
+
+    @BeforeEach
+    void setUp() {
+        replicaLagGuard = new ReplicaLagGuard();
+        ReflectionTestUtils.setField(replicaLagGuard, "readYourWritesMillis", 60_000L);
+        primary = database("routing-primary", "primary");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static DataSource database(String name, String marker) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists marker (name varchar(20))");
+        jdbcTemplate.execute("delete from marker");
+        jdbcTemplate.update("insert into marker values (?)", marker);
+        return dataSource;
+    }
+
+    private String readMarker(DataSource replica, boolean readOnly) {
+        DataSource routed = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, List.of(replica), replicaLagGuard));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routed));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(routed).queryForObject("select name from marker", String.class));
+    }
+
+    @Test
+    void testRouting_ReadOnlyTransactionUsesReplica() {
+        DataSource replica = database("routing-replica", "replica");
+
+        assertEquals("replica", readMarker(replica, true));
+        assertEquals("primary", readMarker(replica, false));
+    }
+
+    @Test
+    void testRouting_RecentWriterReadsPrimary() {
+        DataSource replica = database("routing-replica", "replica");
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("eng1", null));
+
+        replicaLagGuard.recordWrite(List.of("eng1"));
+        assertEquals("primary", readMarker(replica, true));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("eng2", null));
+        assertEquals("replica", readMarker(replica, true));
+    }
+
+    @Test
+    void testRouting_GlobalWritePinsEveryone() {
+        DataSource replica = database("routing-replica", "replica");
+
+        replicaLagGuard.recordGlobalWrite();
+
+        assertEquals("primary", readMarker(replica, true));
+    }
+
+    @Test
+    void testRouting_UnavailableReplicaFallsBackToPrimary() {
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:routing-missing;IFEXISTS=TRUE");
+
+        assertEquals("primary", readMarker(missing, true));
+    }
+}
@@ -0,0 +1,83 @@
+package com.thilina.WorkingTimeApplication.config.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request: the former filter path (four parses, each rebuilding
+ * the key and parser), a single parse with the shared parser, and a verification cache hit.
+ *
+ * Not part of the test suite. Run after test-compile with
+ * java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "myVerySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong";
+
+    private JwtUtil jwtUtil;
+    private JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheMaxSize", 10_000L);
+        jwtUtil.init();
+
+        sharedParser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        token = jwtUtil.generateToken(2L, "eng1", "ENGINEER", 1L, jwtUtil.nextExpiry());
+    }
+
+    private Claims parseWithFreshParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    /**
+     * extractUsername, validateToken (username + expiration) and extractRole
+     */
+    @Benchmark
+    public void fourParsesPerRequest(Blackhole blackhole) {
+        String username = parseWithFreshParser().getSubject();
+        blackhole.consume(parseWithFreshParser().getSubject().equals(username));
+        blackhole.consume(parseWithFreshParser().getExpiration());
+        blackhole.consume(parseWithFreshParser().get("role", String.class));
+    }
+
+    @Benchmark
+    public Claims singleParseWithSharedParser() {
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedVerify() {
+        return jwtUtil.verify(token);
+    }
+}
@@ -0,0 +1,150 @@
+package com.thilina.WorkingTimeApplication.config.jwt;
+
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository;
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository.SessionExpiry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTest {
+
+    private UserSessionRepository userSessionRepository;
+    private PlatformTransactionManager transactionManager;
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    void setUp() {
+        userSessionRepository = mock(UserSessionRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        tokenRevocationList = new TokenRevocationList(userSessionRepository, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(tokenRevocationList, "expectedEntries", 1_000);
+        ReflectionTestUtils.setField(tokenRevocationList, "falsePositiveProbability", 0.01);
+        ReflectionTestUtils.setField(tokenRevocationList, "refreshOverlapSeconds", 60L);
+    }
+
+    private static SessionExpiry revoked(long id, LocalDateTime expiresDateTime) {
+        return new SessionExpiry() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getExpiresDateTime() {
+                return expiresDateTime;
+            }
+        };
+    }
+
+    @Test
+    void testLoad_RevokesSessionsFromDatabase() {
+        when(userSessionRepository.findRevoked(any())).thenReturn(
+                List.of(revoked(7, LocalDateTime.now().plusHours(1))));
+
+        tokenRevocationList.load();
+
+        assertTrue(tokenRevocationList.isRevoked(7));
+        assertFalse(tokenRevocationList.isRevoked(8));
+    }
+
+    @Test
+    void testRevoke_HasNoFalseNegatives() {
+        when(userSessionRepository.findRevoked(any())).thenReturn(List.of());
+        tokenRevocationList.load();
+        LocalDateTime expires = LocalDateTime.now().plusHours(1);
+
+        for (long id = 1; id <= 5_000; id++) {
+            tokenRevocationList.revoke(id, expires);
+        }
+
+        for (long id = 1; id <= 5_000; id++) {
+            assertTrue(tokenRevocationList.isRevoked(id));
+        }
+        assertFalse(tokenRevocationList.isRevoked(5_001));
+    }
+
+    @Test
+    void testRefresh_PicksUpSessionsRevokedElsewhere() {
+        when(userSessionRepository.findRevoked(any())).thenReturn(List.of());
+        when(userSessionRepository.findRevokedSince(any(), any())).thenReturn(
+                List.of(revoked(42, LocalDateTime.now().plusHours(1))));
+        tokenRevocationList.load();
+
+        assertFalse(tokenRevocationList.isRevoked(42));
+        tokenRevocationList.refresh();
+
+        assertTrue(tokenRevocationList.isRevoked(42));
+    }
+
+    @Test
+    void testRefresh_ReadsFromThePrimaryAndLooksBackByTheOverlap() {
+        when(userSessionRepository.findRevoked(any())).thenReturn(List.of());
+        when(userSessionRepository.findRevokedSince(any(), any())).thenReturn(List.of());
+        tokenRevocationList.load();
+        LocalDateTime beforeRefresh = LocalDateTime.now();
+
+        tokenRevocationList.refresh();
+
+        // Read-only transactions are routed to the replicas
+        verify(transactionManager, times(2)).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userSessionRepository).findRevokedSince(since.capture(), any());
+        assertFalse(since.getValue().isAfter(beforeRefresh.minusSeconds(60)));
+    }
+
+    @Test
+    void testRefresh_OverlappingPollsFindLateCommits() {
+        LocalDateTime expires = LocalDateTime.now().plusHours(1);
+        when(userSessionRepository.findRevoked(any())).thenReturn(List.of());
+        // The deactivation of session 9 commits after the first poll, stamped before it
+        when(userSessionRepository.findRevokedSince(any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(revoked(9, expires)));
+        tokenRevocationList.load();
+
+        tokenRevocationList.refresh();
+        assertFalse(tokenRevocationList.isRevoked(9));
+        tokenRevocationList.refresh();
+
+        assertTrue(tokenRevocationList.isRevoked(9));
+    }
+
+    @Test
+    void testCompact_DropsExpiredSessions() {
+        when(userSessionRepository.findRevoked(any())).thenReturn(List.of());
+        tokenRevocationList.load();
+        tokenRevocationList.revoke(1L, LocalDateTime.now().plusHours(1));
+        tokenRevocationList.revoke(2L, LocalDateTime.now().plusHours(1));
+        // Expired tokens are rejected by verification anyway, so they are never tracked
+        tokenRevocationList.revoke(3L, LocalDateTime.now().minusMinutes(1));
+        assertEquals(2, tokenRevocationList.size());
+
+        // Session 2's token expires
+        @SuppressWarnings("unchecked")
+        Map<Long, Long> entries = (Map<Long, Long>) ReflectionTestUtils.getField(tokenRevocationList, "expiresAtBySession");
+        entries.put(2L, System.currentTimeMillis() - 1);
+        tokenRevocationList.compact();
+
+        assertEquals(1, tokenRevocationList.size());
+        assertTrue(tokenRevocationList.isRevoked(1));
+        assertFalse(tokenRevocationList.isRevoked(2));
+        assertFalse(tokenRevocationList.isRevoked(3));
+    }
+}
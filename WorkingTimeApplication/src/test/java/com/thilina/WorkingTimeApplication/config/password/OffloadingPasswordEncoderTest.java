@@ -0,0 +1,117 @@
+package com.thilina.WorkingTimeApplication.config.password;
+
+import com.thilina.WorkingTimeApplication.util.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffloadingPasswordEncoderTest {
+
+    private OffloadingPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    /**
+     * A password whose hashing blocks until released, to hold a pool thread busy
+     */
+    private record BlockingPassword(CountDownLatch started, CountDownLatch release) implements CharSequence {
+        @Override
+        public String toString() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "secret";
+        }
+
+        @Override
+        public int length() {
+            return 6;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return "secret".charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return "secret".subSequence(start, end);
+        }
+    }
+
+    @Test
+    void testEncode_MatchesOnPool() {
+        encoder = new OffloadingPasswordEncoder(4, 2, 4, 5_000);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("other", hash));
+        assertEquals(3, encoder.statistics().getHashCount());
+    }
+
+    @Test
+    void testEncode_RejectsWhenSaturated() throws Exception {
+        encoder = new OffloadingPasswordEncoder(4, 1, 1, 5_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(
+                () -> encoder.encode(new BlockingPassword(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        while (encoder.statistics().getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("rejected"));
+        assertEquals(1, encoder.statistics().getRejectedCount());
+
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testUpgradeEncoding_WhenCostDiffers() {
+        encoder = new OffloadingPasswordEncoder(5, 1, 1, 5_000);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void testEncode_TimesOutOnlyWhileQueued() throws Exception {
+        encoder = new OffloadingPasswordEncoder(4, 1, 1, 200);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Outlives the timeout, but it is already hashing, so it is waited out
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(
+                () -> encoder.encode(new BlockingPassword(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Never picked up within the timeout: dropped from the queue and never hashed
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("queued"));
+        assertEquals(1, encoder.statistics().getTimedOutCount());
+        assertEquals(0, encoder.statistics().getQueueDepth());
+
+        release.countDown();
+        assertTrue(encoder.matches("secret", running.get(5, TimeUnit.SECONDS)));
+        assertEquals(2, encoder.statistics().getHashCount());
+    }
+}
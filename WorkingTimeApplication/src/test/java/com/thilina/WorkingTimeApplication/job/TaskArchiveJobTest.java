@@ -0,0 +1,148 @@
+package com.thilina.WorkingTimeApplication.job;
+
+import com.thilina.WorkingTimeApplication.cache.EngineerAvailabilityQueue;
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkloadCache;
+import com.thilina.WorkingTimeApplication.cache.ResourceVersionRegistry;
+import com.thilina.WorkingTimeApplication.cache.TaskSearchIndex;
+import com.thilina.WorkingTimeApplication.cache.TaskTimelineIndex;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.repository.ArchivedTaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiveJobTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskTimelineIndex taskTimelineIndex;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private EngineerWorkloadCache engineerWorkloadCache;
+
+    @Mock
+    private EngineerAvailabilityQueue engineerAvailabilityQueue;
+
+    @Mock
+    private ResourceVersionRegistry resourceVersionRegistry;
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @InjectMocks
+    private TaskArchiveJob taskArchiveJob;
+
+    /**
+     * Whether the last transaction callback has returned, i.e. the batch has committed
+     */
+    private final AtomicBoolean committed = new AtomicBoolean(true);
+
+    private record Archivable(Long getId, String getCreatedByUsername, String getAssignedToUsername)
+            implements TaskRepository.ArchivableTask {
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskArchiveJob, "ageDays", 365);
+        ReflectionTestUtils.setField(taskArchiveJob, "batchSize", 2);
+        ReflectionTestUtils.setField(taskArchiveJob, "maxBatches", 10);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            committed.set(false);
+            Object result = invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class));
+            committed.set(true);
+            return result;
+        });
+    }
+
+    @Test
+    void testArchive_CopiesTombstonesThenDeletesEachChunk() {
+        when(taskRepository.findArchivable(eq(TaskStatus.APPROVED), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(new Archivable(1L, "pm", "eng1"), new Archivable(2L, "pm", null)),
+                        List.of(new Archivable(3L, "pm", "eng2")));
+
+        taskArchiveJob.archiveCompletedTasks();
+
+        InOrder inOrder = inOrder(archivedTaskRepository, taskTombstoneRepository, taskRepository);
+        inOrder.verify(archivedTaskRepository).copyFromTasks(eq(List.of(1L, 2L)), any());
+        inOrder.verify(taskTombstoneRepository).insertForCreators(eq(List.of(1L, 2L)), any());
+        inOrder.verify(taskTombstoneRepository).insertForAssignees(eq(List.of(1L, 2L)), any());
+        inOrder.verify(taskRepository).deleteArchived(List.of(1L, 2L));
+        inOrder.verify(archivedTaskRepository).copyFromTasks(eq(List.of(3L)), any());
+        inOrder.verify(taskRepository).deleteArchived(List.of(3L));
+        // The short chunk ends the run
+        verify(transactionTemplate, times(2)).execute(any());
+
+        verify(replicaLagGuard).recordWrite(Set.of("pm", "eng1"));
+        verify(replicaLagGuard).recordWrite(Set.of("pm", "eng2"));
+        verify(taskSearchIndex).remove(1L);
+        verify(taskTimelineIndex).remove(3L);
+        verify(engineerWorkloadCache).invalidate();
+        verify(engineerAvailabilityQueue).invalidate();
+    }
+
+    @Test
+    void testArchive_ReadModelsChangeOnlyAfterTheChunkCommits() {
+        when(taskRepository.findArchivable(any(), any(), any()))
+                .thenReturn(List.of(new Archivable(1L, "pm", "eng1")));
+        doAnswer(invocation -> {
+            assertTrue(committed.get());
+            return null;
+        }).when(taskSearchIndex).remove(1L);
+        doAnswer(invocation -> {
+            assertTrue(committed.get());
+            return null;
+        }).when(resourceVersionRegistry).bumpTasks(any());
+
+        taskArchiveJob.archiveCompletedTasks();
+
+        verify(taskSearchIndex).remove(1L);
+        verify(resourceVersionRegistry).bumpTasks("eng1");
+    }
+
+    @Test
+    void testArchive_NothingToArchiveKeepsTheCaches() {
+        when(taskRepository.findArchivable(any(), any(), any())).thenReturn(List.of());
+
+        taskArchiveJob.archiveCompletedTasks();
+
+        verifyNoInteractions(archivedTaskRepository, taskTombstoneRepository, engineerWorkloadCache,
+                engineerAvailabilityQueue, replicaLagGuard);
+        verify(taskRepository, never()).deleteArchived(any());
+    }
+}
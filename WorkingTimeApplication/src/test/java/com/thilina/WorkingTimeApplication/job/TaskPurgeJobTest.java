@@ -0,0 +1,100 @@
+package com.thilina.WorkingTimeApplication.job;
+
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskPurgeJobTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TaskPurgeJob taskPurgeJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskPurgeJob, "retentionDays", 7);
+        ReflectionTestUtils.setField(taskPurgeJob, "tombstoneRetentionDays", 30);
+        ReflectionTestUtils.setField(taskPurgeJob, "batchSize", 2);
+        ReflectionTestUtils.setField(taskPurgeJob, "maxBatches", 10);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        lenient().when(taskRepository.purge(any())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+    }
+
+    @Test
+    void testPurge_DeletesInBatchesUntilAShortOne() {
+        when(taskRepository.findPurgeableIds(any(), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+
+        taskPurgeJob.purgeDeletedTasks();
+
+        verify(taskRepository).purge(List.of(1L, 2L));
+        verify(taskRepository).purge(List.of(3L, 4L));
+        verify(taskRepository).purge(List.of(5L));
+        // One short transaction per batch
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void testPurge_OnlyTasksPastTheRetentionPeriod() {
+        when(taskRepository.findPurgeableIds(any(), anyInt())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
+
+        taskPurgeJob.purgeDeletedTasks();
+
+        verify(taskRepository).findPurgeableIds(argThat(cutoff ->
+                !cutoff.isBefore(before) && !cutoff.isAfter(LocalDateTime.now().minusDays(7))), eq(2));
+        verify(taskRepository, never()).purge(any());
+    }
+
+    @Test
+    void testPurge_StopsAfterMaxBatches() {
+        ReflectionTestUtils.setField(taskPurgeJob, "maxBatches", 3);
+        when(taskRepository.findPurgeableIds(any(), eq(2))).thenReturn(List.of(1L, 2L));
+
+        taskPurgeJob.purgeDeletedTasks();
+
+        verify(taskRepository, times(3)).purge(any());
+    }
+
+    @Test
+    void testPurgeTombstones_DeletesThoseOlderThanTheSyncRetentionInBatches() {
+        when(taskTombstoneRepository.findExpiredIds(any(), eq(2))).thenReturn(List.of(1L, 2L), List.of(3L));
+        when(taskTombstoneRepository.purge(any())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        LocalDateTime before = LocalDateTime.now().minusDays(30);
+
+        taskPurgeJob.purgeExpiredTombstones();
+
+        verify(taskTombstoneRepository, times(2)).findExpiredIds(argThat(cutoff ->
+                !cutoff.isBefore(before) && !cutoff.isAfter(LocalDateTime.now().minusDays(30))), eq(2));
+        verify(taskTombstoneRepository).purge(List.of(1L, 2L));
+        verify(taskTombstoneRepository).purge(List.of(3L));
+        verifyNoInteractions(taskRepository);
+    }
+}
@@ -0,0 +1,325 @@
+package com.thilina.WorkingTimeApplication.repository;
+
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the schema built by the Flyway migrations against the entity mappings (ddl-auto=validate)
+ * and checks that the SQL behind each hot repository finder is answered from an index.
+ * H2 in MySQL mode stands in for MySQL; its EXPLAIN output names the index each table access
+ * uses, or reports a tableScan when there is none.
+ *
+ * Every finder is covered except the loaders that read a whole table on purpose: the
+ * findAll of each repository, TaskRepository.findAllForSearchIndex, summarizeOpenWorkByAssignee
+ * and findLatestEndByAssignee, which rebuild the in-memory indexes and caches.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:index-usage;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,MONTH,DAY,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.thilina.WorkingTimeApplication.repository.RepositoryIndexUsageTest$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryIndexUsageTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 20, 8, 0);
+    private static final long USERS = 40;
+    private static final long TASKS = 2000;
+    private static final long ARCHIVED_TASKS = 1000;
+    private static final long SESSIONS = 4000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OneTimeHolidayRepository oneTimeHolidayRepository;
+
+    @Autowired
+    private RecurringHolidayRepository recurringHolidayRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static class SqlCapture implements StatementInspector {
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static String first() {
+            synchronized (STATEMENTS) {
+                return STATEMENTS.get(0);
+            }
+        }
+
+        static void clear() {
+            synchronized (STATEMENTS) {
+                STATEMENTS.clear();
+            }
+        }
+    }
+
+    /**
+     * Seeds a spread of users and tasks and refreshes the optimizer statistics, so index
+     * choice reflects realistic selectivity rather than an empty schema. Almost every task
+     * is live, as in production, which makes the soft-delete column a poor access path.
+     * ANALYZE commits, so the data outlives the test transaction and is seeded only once.
+     */
+    @BeforeEach
+    void setUp() {
+        if (userRepository.count() > 0) {
+            SqlCapture.clear();
+            return;
+        }
+
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id, id <= USERS / 2 ? Role.PROJECT_MANAGER.name() : Role.ENGINEER.name()});
+        }
+        jdbcTemplate.batchUpdate("insert into user (id, username, role) values (?, ?, ?)", users);
+
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Object[]> tasks = new ArrayList<>();
+        for (long id = 1; id <= TASKS; id++) {
+            LocalDateTime start = NOW.minusDays(id % 365);
+            tasks.add(new Object[]{id, "Task " + id, id % (USERS / 2) + 1, id % (USERS / 2) + USERS / 2 + 1,
+                    statuses[(int) (id % statuses.length)].name(), start, start.plusDays(3), start,
+                    id % 100 == 0 ? NOW : null});
+        }
+        jdbcTemplate.batchUpdate("insert into task (id, title, created_by_id, assigned_to_id, status, " +
+                "start_date_time, end_date_time, updated_date_time, deleted_date_time) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?)", tasks);
+
+        List<Object[]> archived = new ArrayList<>();
+        for (long id = TASKS + 1; id <= TASKS + ARCHIVED_TASKS; id++) {
+            LocalDateTime end = NOW.minusDays(100 + id % 365);
+            archived.add(new Object[]{id, "Task " + id, id % (USERS / 2) + 1, id % (USERS / 2) + USERS / 2 + 1,
+                    TaskStatus.APPROVED.name(), end.minusDays(3), end, NOW});
+        }
+        jdbcTemplate.batchUpdate("insert into archived_task (id, title, created_by_id, assigned_to_id, status, " +
+                "start_date_time, end_date_time, archived_date_time) values (?, ?, ?, ?, ?, ?, ?, ?)", archived);
+
+        // One active session per user; the rest were deactivated, their tokens mostly long expired
+        List<Object[]> sessions = new ArrayList<>();
+        for (long id = 1; id <= SESSIONS; id++) {
+            boolean active = id > SESSIONS - USERS;
+            LocalDateTime created = NOW.minusHours(SESSIONS - id);
+            sessions.add(new Object[]{id, id % USERS + 1, active, created, created.plusHours(24)});
+        }
+        jdbcTemplate.batchUpdate("insert into user_session (id, user_id, active, updated_date_time, " +
+                "expires_date_time) values (?, ?, ?, ?, ?)", sessions);
+
+        jdbcTemplate.execute("analyze");
+        SqlCapture.clear();
+    }
+
+    /**
+     * EXPLAIN the first statement the last repository call issued, which is the finder's own
+     * query before any eager loads, and assert that the given index serves it and no table
+     * is scanned. Parameters are bound in statement order.
+     */
+    private void assertIndexed(String index, Object... parameters) {
+        String plan = explainFirst(parameters);
+        assertTrue(plan.contains("." + index + ":"), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    /**
+     * As assertIndexed, for lookups by id; H2 numbers its primary key indexes
+     */
+    private void assertPrimaryKeyLookup(Object... parameters) {
+        String plan = explainFirst(parameters);
+        assertTrue(plan.contains(".PRIMARY_KEY_"), () -> "Expected a primary key lookup in plan:\n" + plan);
+    }
+
+    /**
+     * As assertIndexed, for any index whose key starts with the given column
+     */
+    private void assertKeyLookup(String column, Object... parameters) {
+        String plan = explainFirst(parameters);
+        assertTrue(plan.contains(": " + column + " = ?1"), () -> "Expected a lookup on " + column + " in plan:\n" + plan);
+    }
+
+    private String explainFirst(Object... parameters) {
+        String sql = SqlCapture.first();
+        SqlCapture.clear();
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+
+        assertNotNull(plan);
+        assertFalse(plan.contains("tableScan"), () -> "Unexpected table scan in plan:\n" + plan);
+        return plan;
+    }
+
+    @Test
+    void testUserFinders_UseUsernameAndRoleIndexes() {
+        userRepository.findByUsername("pm");
+        assertIndexed("uk_user_username", "pm");
+
+        userRepository.existsByUsername("pm");
+        assertIndexed("uk_user_username", "pm", 1);
+
+        userRepository.findByRole(Role.ENGINEER);
+        assertIndexed("idx_user_role", Role.ENGINEER.name());
+
+        userRepository.findExistingUsernames(List.of("user1", "user2"));
+        assertIndexed("uk_user_username", "user1", "user2");
+    }
+
+    @Test
+    void testSettingsFinders_UseHolidayAndWorkingHoursIndexes() {
+        LocalDate date = LocalDate.of(2024, 5, 27);
+
+        oneTimeHolidayRepository.findByDate(date);
+        assertIndexed("uk_one_time_holiday_date", date);
+
+        oneTimeHolidayRepository.existsByDate(date);
+        assertIndexed("uk_one_time_holiday_date", date, 1);
+
+        recurringHolidayRepository.findByMonthAndDay(5, 17);
+        assertIndexed("idx_recurring_holiday_month_day", 5, 17);
+
+        workingHoursRepository.findByIsActiveTrue();
+        assertIndexed("idx_working_hours_active");
+    }
+
+    @Test
+    void testTaskFinders_UseTaskIndexes() {
+        taskRepository.findByCreatedBy(userRepository.getReferenceById(1L));
+        assertIndexed("idx_task_created_by_status", 1L);
+
+        taskRepository.findByAssignedTo(userRepository.getReferenceById(22L));
+        assertIndexed("idx_task_assigned_to_status", 22L);
+
+        taskRepository.streamByCreatedById(1L).close();
+        assertIndexed("idx_task_created_by_status", 1L);
+
+        taskRepository.streamByAssignedToId(22L).close();
+        assertIndexed("idx_task_assigned_to_status", 22L);
+
+        taskRepository.summarizeByStatusForCreator(1L);
+        assertIndexed("idx_task_created_by_status", 1L);
+
+        taskRepository.summarizeByStatusForAssignee(22L);
+        assertIndexed("idx_task_assigned_to_status", 22L);
+
+        taskRepository.countOverdueForCreator(1L, NOW);
+        assertIndexed("idx_task_created_by_status", 1L, NOW);
+
+        taskRepository.countOverdueForAssignee(22L, NOW);
+        assertIndexed("idx_task_assigned_to_status", 22L, NOW);
+
+        taskRepository.findLatestEndForAssignee(22L, TaskStatus.APPROVED);
+        assertIndexed("idx_task_assigned_to_status", 22L, TaskStatus.APPROVED.name());
+
+        taskRepository.findWithUsersByStatus(TaskStatus.APPROVED);
+        assertIndexed("idx_task_status_end", TaskStatus.APPROVED.name());
+
+        taskRepository.findArchivable(TaskStatus.APPROVED, NOW, PageRequest.of(0, 10));
+        assertIndexed("idx_task_status_end", TaskStatus.APPROVED.name(), NOW, 10);
+
+        taskRepository.findTimelineForCreator(1L, NOW, NOW.plusDays(7));
+        assertIndexed("idx_task_created_by_interval", 1L, NOW.plusDays(7), NOW);
+
+        taskRepository.findTimelineForAssignee(22L, NOW, NOW.plusDays(7));
+        assertIndexed("idx_task_assigned_to_interval", 22L, NOW.plusDays(7), NOW);
+
+        taskRepository.findChangedForCreator(1L, NOW, NOW.plusDays(1));
+        assertIndexed("idx_task_created_by_updated", 1L, NOW, NOW.plusDays(1));
+
+        taskRepository.findChangedForAssignee(22L, NOW, NOW.plusDays(1));
+        assertIndexed("idx_task_assigned_to_updated", 22L, NOW, NOW.plusDays(1));
+
+        taskRepository.findPurgeableIds(NOW, 10);
+        assertIndexed("idx_task_deleted", NOW, 10);
+    }
+
+    @Test
+    void testTaskFinders_ById_UsePrimaryKey() {
+        taskRepository.findWithUsersByIdIn(List.of(1L, 2L));
+        assertPrimaryKeyLookup(1L, 2L);
+
+        taskRepository.findOwnersById(1L);
+        assertPrimaryKeyLookup(1L);
+
+        taskRepository.findDeletableForCreator(2L, List.of(1L, 21L));
+        assertPrimaryKeyLookup(2L, 1L, 21L);
+
+        taskRepository.lockOpenForReassignment(2L, 22L, TaskStatus.APPROVED);
+        assertIndexed("idx_task_created_by_status", 2L, 22L, TaskStatus.APPROVED.name());
+
+        taskRepository.lockOpenForReassignment(2L, 22L, TaskStatus.APPROVED, List.of(1L, 21L));
+        assertPrimaryKeyLookup(2L, 22L, TaskStatus.APPROVED.name(), 1L, 21L);
+    }
+
+    @Test
+    void testTombstoneAndArchiveFinders_UseTheirIndexes() {
+        taskTombstoneRepository.findTaskIdsRemovedForUser(22L, NOW, NOW.plusDays(1));
+        assertIndexed("idx_task_tombstone_user_created", 22L, NOW, NOW.plusDays(1));
+
+        // Sorted the way the archive endpoint pages
+        PageRequest newestFirst = PageRequest.of(0, 10, Sort.by(Sort.Order.desc("endDateTime"), Sort.Order.desc("id")));
+
+        // H2 gives each foreign key an index of its own and prefers it here; InnoDB reuses
+        // idx_archived_task_*_end as the foreign key index, so only the key lookup is checked
+        archivedTaskRepository.findByCreatedById(1L, newestFirst);
+        assertKeyLookup("created_by_id", 1L, 10);
+
+        archivedTaskRepository.findByAssignedToId(22L, newestFirst);
+        assertKeyLookup("assigned_to_id", 22L, 10);
+    }
+
+    @Test
+    void testSessionFinders_UseSessionIndexes() {
+        userSessionRepository.findActiveByUserIds(List.of(1L));
+        assertIndexed("idx_user_session_user_active", 1L);
+
+        userSessionRepository.findRevoked(NOW);
+        assertIndexed("idx_user_session_revoked", NOW);
+
+        // Both session indexes serve this one; H2's flat range estimates tie-break towards
+        // (active, expires_date_time), MySQL picks whichever range is narrower
+        userSessionRepository.findRevokedSince(NOW.minusMinutes(5), NOW);
+        assertIndexed("idx_user_session_revoked", NOW.minusMinutes(5), NOW);
+
+        userSessionRepository.findPrunableIds(NOW.minusDays(30), 10);
+        assertIndexed("idx_user_session_expires", NOW.minusDays(30), 10);
+    }
+}
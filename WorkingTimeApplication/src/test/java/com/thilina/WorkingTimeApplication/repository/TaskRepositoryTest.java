@@ -0,0 +1,291 @@
+package com.thilina.WorkingTimeApplication.repository;
+
+import com.thilina.WorkingTimeApplication.dto.TaskStatusSummary;
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.model.ArchivedTask;
+import com.thilina.WorkingTimeApplication.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks what the hand-written task queries return, against the schema built by the Flyway
+ * migrations. H2 in MySQL mode stands in for MySQL; each test seeds its own rows, which the
+ * test transaction rolls back.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-repository;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,MONTH,DAY,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 11, 2, 8, 0);
+    private static final long PM = 1;
+    private static final long OTHER_PM = 2;
+    private static final long ENGINEER = 3;
+    private static final long OTHER_ENGINEER = 4;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.batchUpdate("insert into user (id, username, role) values (?, ?, ?)", List.of(
+                new Object[]{PM, "pm", Role.PROJECT_MANAGER.name()},
+                new Object[]{OTHER_PM, "pm2", Role.PROJECT_MANAGER.name()},
+                new Object[]{ENGINEER, "eng1", Role.ENGINEER.name()},
+                new Object[]{OTHER_ENGINEER, "eng2", Role.ENGINEER.name()}));
+    }
+
+    private void task(long id, long createdBy, Long assignedTo, TaskStatus status, Double timeEstimate,
+                      LocalDateTime end, LocalDateTime deleted) {
+        jdbcTemplate.update("insert into task (id, title, created_by_id, assigned_to_id, status, time_estimate, " +
+                        "start_date_time, end_date_time, updated_date_time, deleted_date_time) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, "Task " + id, createdBy, assignedTo, status.name(), timeEstimate,
+                end.minusDays(1), end, NOW.minusDays(30), deleted);
+    }
+
+    /**
+     * Rename a task from a separate connection that gives up on row locks after a short wait
+     */
+    private void renameFromAnotherConnection(long id) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute("set lock_timeout 200");
+            statement.executeUpdate("update task set title = 'Renamed' where id = " + id);
+        }
+    }
+
+    private static List<TaskStatusSummary> sorted(List<TaskStatusSummary> summaries) {
+        return summaries.stream().sorted(Comparator.comparing(TaskStatusSummary::getStatus)).toList();
+    }
+
+    @Test
+    void testSummarizeByStatus_GroupsTheOwnersLiveTasks() {
+        task(1, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.5, NOW.plusDays(1), null);
+        task(2, PM, ENGINEER, TaskStatus.IN_PROGRESS, 2.0, NOW.plusDays(2), null);
+        task(3, PM, OTHER_ENGINEER, TaskStatus.IN_PROGRESS, null, NOW.plusDays(2), null);
+        task(4, PM, ENGINEER, TaskStatus.APPROVED, 0.5, NOW.minusDays(1), null);
+        // Deleted, and another manager's task on the same engineer
+        task(5, PM, ENGINEER, TaskStatus.APPROVED, 4.0, NOW.minusDays(1), NOW);
+        task(6, OTHER_PM, ENGINEER, TaskStatus.IN_PROGRESS, 8.0, NOW.plusDays(1), null);
+
+        List<TaskStatusSummary> creator = sorted(taskRepository.summarizeByStatusForCreator(PM));
+        assertEquals(2, creator.size());
+        assertEquals(TaskStatus.APPROVED.name(), creator.get(0).getStatus());
+        assertEquals(1L, creator.get(0).getTaskCount());
+        assertEquals(0.5, creator.get(0).getEstimateDays(), 1e-9);
+        assertEquals(TaskStatus.IN_PROGRESS.name(), creator.get(1).getStatus());
+        assertEquals(3L, creator.get(1).getTaskCount());
+        // A task without an estimate counts as a task but adds nothing
+        assertEquals(3.5, creator.get(1).getEstimateDays(), 1e-9);
+
+        List<TaskStatusSummary> assignee = sorted(taskRepository.summarizeByStatusForAssignee(ENGINEER));
+        assertEquals(2, assignee.size());
+        assertEquals(1L, assignee.get(0).getTaskCount());
+        assertEquals(3L, assignee.get(1).getTaskCount());
+        assertEquals(11.5, assignee.get(1).getEstimateDays(), 1e-9);
+    }
+
+    @Test
+    void testSummarizeByStatus_StatusWithOnlyUnestimatedTasksSumsToZero() {
+        task(1, PM, ENGINEER, TaskStatus.IN_PROGRESS, null, NOW.plusDays(1), null);
+
+        List<TaskStatusSummary> summaries = taskRepository.summarizeByStatusForCreator(PM);
+
+        assertEquals(1, summaries.size());
+        assertEquals(0.0, summaries.get(0).getEstimateDays());
+    }
+
+    @Test
+    void testCountOverdue_OnlyLiveTasksEndedBeforeNow() {
+        task(1, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW.minusHours(1), null);
+        task(2, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+        task(3, PM, OTHER_ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW.minusDays(2), null);
+        task(4, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW.minusDays(2), NOW);
+
+        assertEquals(2, taskRepository.countOverdueForCreator(PM, NOW));
+        assertEquals(1, taskRepository.countOverdueForAssignee(ENGINEER, NOW));
+        assertEquals(0, taskRepository.countOverdueForCreator(OTHER_PM, NOW));
+    }
+
+    @Test
+    void testLockOpenForReassignment_SelectsTheCreatorsOpenTasksOfTheEngineer() {
+        task(1, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+        task(2, PM, ENGINEER, TaskStatus.APPROVED, 1.0, NOW, null);
+        task(3, PM, OTHER_ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+        task(4, OTHER_PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+        task(5, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, NOW);
+        task(6, PM, ENGINEER, TaskStatus.IN_PROGRESS, 2.5, NOW, null);
+
+        assertEquals(List.of(1L, 6L), taskRepository.lockOpenForReassignment(PM, ENGINEER, TaskStatus.APPROVED)
+                .stream().map(TaskRepository.ReassignableTask::getId).toList());
+        assertEquals(List.of(6L), taskRepository.lockOpenForReassignment(PM, ENGINEER, TaskStatus.APPROVED,
+                        List.of(2L, 3L, 4L, 5L, 6L))
+                .stream().map(TaskRepository.ReassignableTask::getId).toList());
+    }
+
+    @Test
+    void testSoftDelete_HidesTheTaskUntilItIsPurged() {
+        task(1, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+        task(2, PM, null, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+        task(3, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+
+        // Unassigned tasks leave no assignee tombstone
+        assertEquals(1, taskTombstoneRepository.insertForAssignees(List.of(1L, 2L), NOW));
+        assertEquals(2, taskRepository.softDelete(List.of(1L, 2L), NOW));
+        // Which is why the tombstones are written first: deleted tasks are invisible to entity queries
+        assertEquals(0, taskTombstoneRepository.insertForTasks(List.of(1L, 2L), PM, NOW));
+
+        assertTrue(taskRepository.findById(1L).isEmpty());
+        assertEquals(List.of(3L), taskRepository.findAll().stream().map(Task::getId).toList());
+        // Still in the table, and picked up by the purge once past the cutoff
+        assertEquals(List.of(), taskRepository.findPurgeableIds(NOW, 10));
+        assertEquals(List.of(1L, 2L), taskRepository.findPurgeableIds(NOW.plusSeconds(1), 10));
+    }
+
+    @Test
+    void testPurge_BatchedAndOnlyRemovesDeletedRows() {
+        for (long id = 1; id <= 5; id++) {
+            task(id, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, NOW.minusDays(10 + id));
+        }
+        task(6, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+        task(7, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, NOW);
+
+        assertEquals(List.of(1L, 2L), taskRepository.findPurgeableIds(NOW.minusDays(7), 2));
+        // A task restored or never deleted is never removed, even when its id is passed
+        assertEquals(2, taskRepository.purge(List.of(1L, 2L, 6L)));
+        assertEquals(List.of(3L, 4L), taskRepository.findPurgeableIds(NOW.minusDays(7), 2));
+        assertEquals(3, taskRepository.purge(List.of(3L, 4L, 5L)));
+        assertEquals(List.of(), taskRepository.findPurgeableIds(NOW.minusDays(7), 2));
+
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from task", Integer.class));
+    }
+
+    @Test
+    void testPurgeTombstones_OnlyThoseCreatedBeforeTheCutoffOldestFirst() {
+        task(1, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+        taskTombstoneRepository.insertForTasks(List.of(1L), ENGINEER, NOW.minusDays(40));
+        taskTombstoneRepository.insertForTasks(List.of(1L), OTHER_ENGINEER, NOW.minusDays(50));
+        taskTombstoneRepository.insertForTasks(List.of(1L), PM, NOW.minusDays(10));
+        List<Long> ids = jdbcTemplate.queryForList("select id from task_tombstone order by id", Long.class);
+
+        List<Long> expired = taskTombstoneRepository.findExpiredIds(NOW.minusDays(30), 10);
+        assertEquals(List.of(ids.get(1), ids.get(0)), expired);
+        assertEquals(2, taskTombstoneRepository.purge(expired));
+
+        assertEquals(List.of(1L), taskTombstoneRepository.findTaskIdsRemovedForUser(PM, NOW.minusDays(30), NOW));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from task_tombstone", Integer.class));
+    }
+
+    @Test
+    void testFindArchivable_ApprovedLiveTasksEndedBeforeTheCutoffInIdOrder() {
+        task(4, PM, ENGINEER, TaskStatus.APPROVED, 1.0, NOW.minusDays(400), null);
+        task(1, PM, null, TaskStatus.APPROVED, 1.0, NOW.minusDays(500), null);
+        task(2, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW.minusDays(500), null);
+        task(3, PM, ENGINEER, TaskStatus.APPROVED, 1.0, NOW.minusDays(500), NOW);
+        task(5, PM, ENGINEER, TaskStatus.APPROVED, 1.0, NOW.minusDays(10), null);
+        task(6, OTHER_PM, OTHER_ENGINEER, TaskStatus.APPROVED, 1.0, NOW.minusDays(450), null);
+
+        List<TaskRepository.ArchivableTask> chunk = taskRepository.findArchivable(TaskStatus.APPROVED,
+                NOW.minusDays(365), PageRequest.of(0, 2));
+
+        assertEquals(List.of(1L, 4L), chunk.stream().map(TaskRepository.ArchivableTask::getId).toList());
+        assertEquals("pm", chunk.get(0).getCreatedByUsername());
+        assertNull(chunk.get(0).getAssignedToUsername());
+        assertEquals("eng1", chunk.get(1).getAssignedToUsername());
+    }
+
+    @Test
+    void testArchiveMove_CopiesEveryColumnThenRemovesTheLiveRow() {
+        task(1, PM, ENGINEER, TaskStatus.APPROVED, 2.5, NOW.minusDays(400), null);
+        task(2, PM, ENGINEER, TaskStatus.APPROVED, 1.0, NOW.minusDays(400), null);
+        jdbcTemplate.update("update task set description = 'Notes', created_date_time = ? where id = 1",
+                NOW.minusDays(402));
+
+        assertEquals(1, archivedTaskRepository.copyFromTasks(List.of(1L), NOW));
+        assertEquals(1, taskRepository.deleteArchived(List.of(1L)));
+
+        assertTrue(taskRepository.findById(1L).isEmpty());
+        assertTrue(taskRepository.findById(2L).isPresent());
+        List<ArchivedTask> archived = archivedTaskRepository.findByAssignedToId(ENGINEER, PageRequest.of(0, 10)).getContent();
+        assertEquals(1, archived.size());
+        ArchivedTask task = archived.get(0);
+        assertEquals(1L, task.getId());
+        assertEquals("Task 1", task.getTitle());
+        assertEquals("Notes", task.getDescription());
+        assertEquals("pm", task.getCreatedBy().getUsername());
+        assertEquals("eng1", task.getAssignedTo().getUsername());
+        assertEquals(2.5, task.getTimeEstimate());
+        assertEquals(NOW.minusDays(401), task.getStartDateTime());
+        assertEquals(NOW.minusDays(400), task.getEndDateTime());
+        assertEquals(TaskStatus.APPROVED, task.getStatus());
+        assertEquals(NOW.minusDays(402), task.getCreatedDateTime());
+        assertEquals(NOW.minusDays(30), task.getUpdatedDateTime());
+        assertEquals(NOW, task.getArchivedDateTime());
+    }
+
+    /**
+     * Runs outside the test transaction, so the rows are committed and visible to the
+     * second connection; they are removed again at the end.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testLockOpenForReassignment_HoldsTheRowsUntilTheTransactionEnds() throws Exception {
+        try {
+            task(1, PM, ENGINEER, TaskStatus.IN_PROGRESS, 1.0, NOW, null);
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                assertEquals(1, taskRepository.lockOpenForReassignment(PM, ENGINEER, TaskStatus.APPROVED).size());
+                // A concurrent edit cannot slip in between the locking read and the reassignment
+                assertThrows(SQLException.class, () -> renameFromAnotherConnection(1));
+            });
+
+            renameFromAnotherConnection(1);
+            assertEquals("Renamed", jdbcTemplate.queryForObject("select title from task where id = 1", String.class));
+        } finally {
+            jdbcTemplate.update("delete from task");
+            jdbcTemplate.update("delete from user");
+        }
+    }
+}
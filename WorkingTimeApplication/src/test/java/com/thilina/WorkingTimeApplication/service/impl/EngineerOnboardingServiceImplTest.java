@@ -0,0 +1,234 @@
+package com.thilina.WorkingTimeApplication.service.impl;
+
+import com.thilina.WorkingTimeApplication.cache.EngineerAvailabilityQueue;
+import com.thilina.WorkingTimeApplication.cache.EngineerDirectoryIndex;
+import com.thilina.WorkingTimeApplication.cache.SecondLevelCache;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
+import com.thilina.WorkingTimeApplication.config.password.OffloadingPasswordEncoder;
+import com.thilina.WorkingTimeApplication.dto.BulkRegistrationResponse;
+import com.thilina.WorkingTimeApplication.dto.BulkRegistrationResult;
+import com.thilina.WorkingTimeApplication.dto.RegisterRequest;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import com.thilina.WorkingTimeApplication.util.exception.ServiceUnavailableException;
+import com.thilina.WorkingTimeApplication.util.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngineerOnboardingServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OffloadingPasswordEncoder passwordEncoder;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private EngineerAvailabilityQueue engineerAvailabilityQueue;
+
+    @Mock
+    private EngineerDirectoryIndex engineerDirectoryIndex;
+
+    @InjectMocks
+    private EngineerOnboardingServiceImpl engineerOnboardingService;
+
+    /**
+     * Usernames of every batch insert, in order, including the failed ones
+     */
+    private final List<List<String>> batches = new ArrayList<>();
+    private final Map<String, RuntimeException> insertFailures = new HashMap<>();
+    private long nextId = 100;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(engineerOnboardingService, "maxRows", 10);
+        ReflectionTestUtils.setField(engineerOnboardingService, "batchSize", 2);
+        ReflectionTestUtils.setField(engineerOnboardingService, "hashParallelism", 2);
+
+        lenient().when(passwordEncoder.encode(any())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            List<String> usernames = new ArrayList<>();
+            PreparedStatement statement = mock(PreparedStatement.class);
+            doAnswer(set -> usernames.add(set.getArgument(1)))
+                    .when(statement).setString(eq(1), any());
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                setter.setValues(statement, i);
+            }
+            batches.add(usernames);
+
+            for (String username : usernames) {
+                if (insertFailures.containsKey(username)) {
+                    throw insertFailures.get(username);
+                }
+            }
+            KeyHolder keys = invocation.getArgument(2);
+            usernames.forEach(username -> keys.getKeyList().add(Map.of("id", nextId++)));
+            return new int[usernames.size()];
+        });
+    }
+
+    private static RegisterRequest request(String username, String password) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+
+    private static BulkRegistrationResult result(BulkRegistrationResponse response, int row) {
+        return response.getResults().get(row - 1);
+    }
+
+    @Test
+    void testRegister_ReportsMissingFieldsAndRepeatedUsernames() {
+        BulkRegistrationResponse response = engineerOnboardingService.registerEngineers(List.of(
+                request("alice", "pw-alice"),
+                request("bob", "pw-bob"),
+                request("alice", "pw-again"),
+                request(" ", "pw-blank"),
+                request("carol", null)));
+
+        assertEquals(5, response.getRequestedCount());
+        assertEquals(2, response.getCreatedCount());
+        assertEquals(3, response.getFailedCount());
+        assertEquals("Username appears more than once in the request", result(response, 3).getError());
+        assertEquals("Username is required", result(response, 4).getError());
+        assertEquals("Password is required", result(response, 5).getError());
+        assertTrue(result(response, 1).getCreated());
+        // Only the valid rows are checked against the table and hashed
+        verify(userRepository).findExistingUsernames(List.of("alice", "bob"));
+        verify(passwordEncoder, never()).encode("pw-again");
+    }
+
+    @Test
+    void testRegister_SkipsTakenUsernamesBeforeHashing() {
+        when(userRepository.findExistingUsernames(any())).thenReturn(List.of("bob"));
+
+        BulkRegistrationResponse response = engineerOnboardingService.registerEngineers(List.of(
+                request("alice", "pw-alice"),
+                request("bob", "pw-bob")));
+
+        assertEquals(1, response.getCreatedCount());
+        assertEquals("Username already exists", result(response, 2).getError());
+        assertFalse(result(response, 2).getCreated());
+        verify(passwordEncoder, never()).encode("pw-bob");
+        assertEquals(List.of(List.of("alice")), batches);
+    }
+
+    @Test
+    void testRegister_ReplaysFailedBatchRowByRow() {
+        // bob is registered by someone else after the IN check; dave's row breaks a constraint
+        insertFailures.put("bob", new DuplicateKeyException("Duplicate entry 'bob'"));
+        insertFailures.put("dave", new DataIntegrityViolationException("Data too long for column 'email'"));
+
+        BulkRegistrationResponse response = engineerOnboardingService.registerEngineers(List.of(
+                request("alice", "pw-alice"),
+                request("bob", "pw-bob"),
+                request("carol", "pw-carol"),
+                request("dave", "pw-dave")));
+
+        assertEquals(List.of(
+                List.of("alice", "bob"), List.of("alice"), List.of("bob"),
+                List.of("carol", "dave"), List.of("carol"), List.of("dave")), batches);
+        assertEquals(2, response.getCreatedCount());
+        assertTrue(result(response, 1).getCreated());
+        assertEquals(100L, result(response, 1).getUserId());
+        assertEquals("Username already exists", result(response, 2).getError());
+        assertNull(result(response, 2).getUserId());
+        assertTrue(result(response, 3).getCreated());
+        assertEquals("User could not be stored", result(response, 4).getError());
+        // Only committed users reach the in-memory indexes
+        verify(engineerDirectoryIndex, times(2)).upsert(any());
+        verify(engineerAvailabilityQueue, times(2)).upsert(any());
+    }
+
+    @Test
+    void testRegister_HashingFailureOnlyFailsThatRow() {
+        when(passwordEncoder.encode("pw-bob"))
+                .thenThrow(new ServiceUnavailableException("PASSWORD_HASHING_BUSY", "busy"));
+
+        BulkRegistrationResponse response = engineerOnboardingService.registerEngineers(List.of(
+                request("alice", "pw-alice"),
+                request("bob", "pw-bob"),
+                request("carol", "pw-carol")));
+
+        assertEquals(2, response.getCreatedCount());
+        assertEquals("Password hashing is busy, please retry this user", result(response, 2).getError());
+        assertEquals(List.of(List.of("alice", "carol")), batches);
+    }
+
+    @Test
+    void testRegister_RejectsTooManyRows() {
+        List<RegisterRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            requests.add(request("user" + i, "pw"));
+        }
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> engineerOnboardingService.registerEngineers(requests));
+        assertEquals("TOO_MANY_ROWS", e.getCode());
+        verifyNoInteractions(userRepository, passwordEncoder, jdbcTemplate);
+    }
+
+    @Test
+    void testRegisterFromCsv_MatchesColumnsByNameAndReportsShortRows() {
+        String csv = "Password,USERNAME,firstName\n" +
+                "pw-alice,alice,Alice\n" +
+                "pw-bob,bob\n";
+
+        BulkRegistrationResponse response = engineerOnboardingService.registerEngineersFromCsv(csv);
+
+        assertEquals(1, response.getCreatedCount());
+        assertEquals("alice", result(response, 1).getUsername());
+        assertEquals("Expected 3 fields but found 2", result(response, 2).getError());
+        verify(passwordEncoder).encode("pw-alice");
+    }
+
+    @Test
+    void testRegisterFromCsv_RequiresUsernameAndPasswordColumns() {
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> engineerOnboardingService.registerEngineersFromCsv("username,email\nalice,a@example.com\n"));
+        assertEquals("INVALID_CSV", e.getCode());
+    }
+}
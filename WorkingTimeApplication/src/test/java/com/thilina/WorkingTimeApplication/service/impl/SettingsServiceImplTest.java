@@ -0,0 +1,136 @@
+package com.thilina.WorkingTimeApplication.service.impl;
+
+import com.thilina.WorkingTimeApplication.cache.ResourceVersionRegistry;
+import com.thilina.WorkingTimeApplication.cache.SecondLevelCache;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
+import com.thilina.WorkingTimeApplication.dto.HolidayRequest;
+import com.thilina.WorkingTimeApplication.dto.WorkingHoursRequest;
+import com.thilina.WorkingTimeApplication.model.RecurringHoliday;
+import com.thilina.WorkingTimeApplication.model.WorkingHours;
+import com.thilina.WorkingTimeApplication.repository.OneTimeHolidayRepository;
+import com.thilina.WorkingTimeApplication.repository.RecurringHolidayRepository;
+import com.thilina.WorkingTimeApplication.repository.WorkingHoursRepository;
+import com.thilina.WorkingTimeApplication.util.exception.DuplicateResourceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SettingsServiceImplTest {
+
+    @Mock
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Mock
+    private RecurringHolidayRepository recurringHolidayRepository;
+
+    @Mock
+    private OneTimeHolidayRepository oneTimeHolidayRepository;
+
+    @Mock
+    private ResourceVersionRegistry resourceVersionRegistry;
+
+    @Mock
+    private SecondLevelCache secondLevelCache;
+
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @InjectMocks
+    private SettingsServiceImpl settingsService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static HolidayRequest holiday(int month, int day) {
+        HolidayRequest request = new HolidayRequest();
+        request.setMonth(month);
+        request.setDay(day);
+        request.setDescription("Holiday");
+        return request;
+    }
+
+    @Test
+    void testAddRecurringHoliday_EvictsOnlyOnceCommitted() {
+        when(recurringHolidayRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        beginTransaction();
+        RecurringHoliday saved = settingsService.addRecurringHoliday(holiday(12, 25));
+        assertEquals(12, saved.getMonth());
+        // A reader in between would otherwise reload and re-cache the old rows
+        verifyNoInteractions(secondLevelCache, resourceVersionRegistry, replicaLagGuard);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Pinned to the primary before the cache is dropped and the ETags move on
+        InOrder inOrder = inOrder(replicaLagGuard, secondLevelCache, resourceVersionRegistry);
+        inOrder.verify(replicaLagGuard).recordGlobalWrite();
+        inOrder.verify(secondLevelCache).evictSettings();
+        inOrder.verify(resourceVersionRegistry).bumpSettings();
+    }
+
+    @Test
+    void testDeleteOneTimeHoliday_RolledBackKeepsTheCache() {
+        beginTransaction();
+        settingsService.deleteOneTimeHoliday(4L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(oneTimeHolidayRepository).deleteById(4L);
+        verifyNoInteractions(secondLevelCache, resourceVersionRegistry, replicaLagGuard);
+    }
+
+    @Test
+    void testUpdateWorkingHours_EvictsOncePerTransaction() {
+        WorkingHours current = new WorkingHours();
+        current.setIsActive(true);
+        when(workingHoursRepository.findByIsActiveTrue()).thenReturn(Optional.of(current));
+
+        beginTransaction();
+        settingsService.updateWorkingHours(new WorkingHoursRequest());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertFalse(current.getIsActive());
+        verify(workingHoursRepository, times(2)).save(any());
+        verify(secondLevelCache).evictSettings();
+    }
+
+    @Test
+    void testAddOneTimeHoliday_DuplicateDoesNotEvict() {
+        HolidayRequest request = new HolidayRequest();
+        request.setDate(LocalDate.of(2026, 12, 24));
+        when(oneTimeHolidayRepository.existsByDate(request.getDate())).thenReturn(true);
+
+        assertThrows(DuplicateResourceException.class, () -> settingsService.addOneTimeHoliday(request));
+        verifyNoInteractions(secondLevelCache);
+    }
+}
@@ -0,0 +1,125 @@
+package com.thilina.WorkingTimeApplication.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.thilina.WorkingTimeApplication.dto.AuthenticatedUser;
+import com.thilina.WorkingTimeApplication.enums.ExportFormat;
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.model.Task;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.service.UserService;
+import com.thilina.WorkingTimeApplication.util.exception.ValidationException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskExportServiceImplTest {
+
+    private static final User PM = User.builder().id(1L).username("pm").role(Role.PROJECT_MANAGER).build();
+    private static final User ENGINEER = User.builder().id(2L).username("eng1").role(Role.ENGINEER).build();
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 2, 8, 0);
+
+    private TaskRepository taskRepository;
+    private UserService userService;
+    private EntityManager entityManager;
+    private ObjectMapper objectMapper;
+    private TaskExportServiceImpl taskExportService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        userService = mock(UserService.class);
+        entityManager = mock(EntityManager.class);
+        // Configured like the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        taskExportService = new TaskExportServiceImpl(taskRepository, userService, entityManager, objectMapper);
+
+        when(userService.getAuthenticatedUser("pm")).thenReturn(new AuthenticatedUser(1L, "pm", Role.PROJECT_MANAGER));
+        when(userService.getAuthenticatedUser("eng1")).thenReturn(new AuthenticatedUser(2L, "eng1", Role.ENGINEER));
+    }
+
+    private static Task task(long id, String title, String description, User assignedTo) {
+        return Task.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .createdBy(PM)
+                .assignedTo(assignedTo)
+                .timeEstimate(1.5)
+                .startDateTime(START)
+                .endDateTime(START.plusDays(2))
+                .status(TaskStatus.IN_PROGRESS)
+                .build();
+    }
+
+    private String export(String username, ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskExportService.exportTasks(username, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testExportNdjson_OneObjectPerLine() throws Exception {
+        Task first = task(10L, "Design", "Schema", ENGINEER);
+        Task second = task(11L, "Build", null, null);
+        when(taskRepository.streamByCreatedById(1L)).thenReturn(Stream.of(first, second));
+
+        String body = export("pm", ExportFormat.NDJSON);
+
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(body.endsWith("\n"));
+        JsonNode row = objectMapper.readTree(lines.get(0));
+        assertEquals(10L, row.get("id").asLong());
+        assertEquals("eng1", row.get("assignedToUsername").asText());
+        assertEquals("2026-11-02T08:00:00", row.get("startDateTime").asText());
+        assertTrue(objectMapper.readTree(lines.get(1)).get("assignedToId").isNull());
+        // Every row leaves the persistence context once written
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void testExportNdjson_EmptyExportHasNoBody() throws Exception {
+        when(taskRepository.streamByCreatedById(1L)).thenReturn(Stream.empty());
+
+        assertEquals("", export("pm", ExportFormat.NDJSON));
+    }
+
+    @Test
+    void testExportCsv_HeaderAndQuotedFields() throws Exception {
+        Task task = task(10L, "Design, review", "Say \"hi\"\nthen leave", ENGINEER);
+        when(taskRepository.streamByAssignedToId(2L)).thenReturn(Stream.of(task));
+
+        String body = export("eng1", ExportFormat.CSV);
+
+        assertEquals("id,title,description,assignedToId,assignedToUsername,createdById,createdByUsername," +
+                "timeEstimate,startDateTime,endDateTime,status\r\n" +
+                "10,\"Design, review\",\"Say \"\"hi\"\"\nthen leave\",2,eng1,1,pm,1.5," +
+                "2026-11-02T08:00:00,2026-11-04T08:00:00,IN_PROGRESS\r\n", body);
+        verify(taskRepository, never()).streamByCreatedById(any());
+    }
+
+    @Test
+    void testExportFormat_ParsedCaseInsensitively() {
+        assertEquals(ExportFormat.CSV, ExportFormat.from("csv"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.from("NdJson"));
+        ValidationException e = assertThrows(ValidationException.class, () -> ExportFormat.from("xml"));
+        assertEquals("INVALID_EXPORT_FORMAT", e.getCode());
+    }
+}
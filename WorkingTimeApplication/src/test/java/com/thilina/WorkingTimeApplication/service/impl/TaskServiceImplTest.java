@@ -0,0 +1,364 @@
+package com.thilina.WorkingTimeApplication.service.impl;
+
+import com.thilina.WorkingTimeApplication.cache.EngineerAvailabilityQueue;
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkloadCache;
+import com.thilina.WorkingTimeApplication.cache.ResourceVersionRegistry;
+import com.thilina.WorkingTimeApplication.cache.TaskSearchIndex;
+import com.thilina.WorkingTimeApplication.cache.TaskTimelineIndex;
+import com.thilina.WorkingTimeApplication.config.datasource.ReplicaLagGuard;
+import com.thilina.WorkingTimeApplication.dto.AuthenticatedUser;
+import com.thilina.WorkingTimeApplication.dto.BulkReassignRequest;
+import com.thilina.WorkingTimeApplication.dto.BulkReassignResponse;
+import com.thilina.WorkingTimeApplication.dto.TaskChangesResponse;
+import com.thilina.WorkingTimeApplication.dto.TaskRequest;
+import com.thilina.WorkingTimeApplication.dto.TaskStatusSummary;
+import com.thilina.WorkingTimeApplication.dto.TaskSummaryResponse;
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.enums.TaskStatus;
+import com.thilina.WorkingTimeApplication.model.Task;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.ArchivedTaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskRepository;
+import com.thilina.WorkingTimeApplication.repository.TaskTombstoneRepository;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import com.thilina.WorkingTimeApplication.service.TimeCalculationService;
+import com.thilina.WorkingTimeApplication.service.UserService;
+import com.thilina.WorkingTimeApplication.util.exception.ResourceGoneException;
+import com.thilina.WorkingTimeApplication.util.exception.ResourceNotFoundException;
+import com.thilina.WorkingTimeApplication.util.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceImplTest {
+
+    private static final AuthenticatedUser PM = new AuthenticatedUser(1L, "pm", Role.PROJECT_MANAGER);
+    private static final AuthenticatedUser ENGINEER = new AuthenticatedUser(2L, "eng1", Role.ENGINEER);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TimeCalculationService timeCalculationService;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @Mock
+    private TaskTimelineIndex taskTimelineIndex;
+
+    @Mock
+    private EngineerWorkloadCache engineerWorkloadCache;
+
+    @Mock
+    private EngineerAvailabilityQueue engineerAvailabilityQueue;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private ResourceVersionRegistry resourceVersionRegistry;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    // Real, so the after-commit hooks run against its actual bookkeeping
+    @Spy
+    private ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard();
+
+    @InjectMocks
+    private TaskServiceImpl taskService;
+
+    private record Reassignable(Long getId, TaskStatus getStatus, Double getTimeEstimate, LocalDateTime getEndDateTime)
+            implements TaskRepository.ReassignableTask {
+    }
+
+    private record Deletable(Long getId, TaskStatus getStatus, Double getTimeEstimate, LocalDateTime getEndDateTime,
+                             Long getAssignedToId, String getAssignedToUsername)
+            implements TaskRepository.DeletableTask {
+    }
+
+    private record Owners(Long getCreatedById, Long getAssignedToId) implements TaskRepository.TaskOwners {
+    }
+
+    @Test
+    void testCheckTaskAccess_DeniesEngineerNotAssigned() {
+        when(taskRepository.findOwnersById(5L)).thenReturn(Optional.of(new Owners(1L, 3L)));
+        when(userService.getAuthenticatedUser("eng1")).thenReturn(ENGINEER);
+
+        assertThrows(AccessDeniedException.class, () -> taskService.checkTaskAccess(5L, "eng1"));
+        // Checked from the owners alone, without loading the task
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCheckTaskAccess_AllowsAssigneeAndProjectManager() {
+        when(taskRepository.findOwnersById(5L)).thenReturn(Optional.of(new Owners(1L, 2L)));
+        when(userService.getAuthenticatedUser("eng1")).thenReturn(ENGINEER);
+        when(userService.getAuthenticatedUser("pm")).thenReturn(PM);
+
+        assertDoesNotThrow(() -> taskService.checkTaskAccess(5L, "eng1"));
+        assertDoesNotThrow(() -> taskService.checkTaskAccess(5L, "pm"));
+    }
+
+    @Test
+    void testCheckTaskAccess_UnknownTaskIsNotFound() {
+        when(taskRepository.findOwnersById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.checkTaskAccess(5L, "eng1"));
+    }
+
+    @Test
+    void testGetTaskSummary_TotalsTheAssigneesStatusGroups() {
+        when(userService.getAuthenticatedUser("eng1")).thenReturn(ENGINEER);
+        when(taskRepository.summarizeByStatusForAssignee(2L)).thenReturn(List.of(
+                new TaskStatusSummary(TaskStatus.IN_PROGRESS, 3L, 3.5),
+                new TaskStatusSummary(TaskStatus.APPROVED, 1L, null)));
+        when(taskRepository.countOverdueForAssignee(eq(2L), any())).thenReturn(2L);
+
+        TaskSummaryResponse summary = taskService.getTaskSummary("eng1");
+
+        assertEquals(4L, summary.getTotalTasks());
+        assertEquals(3.5, summary.getTotalEstimateDays(), 1e-9);
+        assertEquals(2L, summary.getOverdueTasks());
+        assertEquals(2, summary.getByStatus().size());
+        verify(taskRepository, never()).summarizeByStatusForCreator(any());
+        verify(taskRepository, never()).countOverdueForCreator(any(), any());
+    }
+
+    @Test
+    void testGetTaskSummary_EitherQueryFailingInterruptsTheOther() {
+        when(userService.getAuthenticatedUser("eng1")).thenReturn(ENGINEER);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(taskRepository.summarizeByStatusForAssignee(2L)).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return List.of();
+        });
+        // The query awaited second fails first
+        when(taskRepository.countOverdueForAssignee(eq(2L), any())).thenAnswer(invocation -> {
+            started.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("overdue query failed");
+        });
+
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> taskService.getTaskSummary("eng1")));
+        assertEquals("overdue query failed", e.getMessage());
+        assertEquals(0, interrupted.getCount());
+    }
+
+    private void engineers(long fromId, long toId) {
+        when(userService.getAuthenticatedUser("pm")).thenReturn(PM);
+        when(userService.getUserById(fromId)).thenReturn(User.builder().id(fromId).username("eng" + fromId).role(Role.ENGINEER).build());
+        when(userService.getUserById(toId)).thenReturn(User.builder().id(toId).username("eng" + toId).role(Role.ENGINEER).build());
+    }
+
+    private static BulkReassignRequest reassignRequest(Long fromId, Long toId, List<Long> taskIds) {
+        BulkReassignRequest request = new BulkReassignRequest();
+        request.setFromEngineerId(fromId);
+        request.setToEngineerId(toId);
+        request.setTaskIds(taskIds);
+        return request;
+    }
+
+    @Test
+    void testReassignTasks_UpdatesExactlyTheLockedRows() {
+        engineers(2L, 3L);
+        // 12 is approved or no longer assigned to engineer 2, so the locking read leaves it out
+        when(taskRepository.lockOpenForReassignment(eq(1L), eq(2L), eq(TaskStatus.APPROVED), eq(Set.of(10L, 11L, 12L))))
+                .thenReturn(List.of(new Reassignable(10L, TaskStatus.IN_PROGRESS, 1.0, null),
+                        new Reassignable(11L, TaskStatus.IN_PROGRESS, 2.0, null)));
+        when(taskRepository.reassign(eq(List.of(10L, 11L)), any(), any())).thenReturn(2);
+
+        BulkReassignResponse response = taskService.reassignTasks(reassignRequest(2L, 3L, List.of(10L, 11L, 12L)), "pm");
+
+        assertEquals(3, response.getRequestedCount());
+        assertEquals(2, response.getReassignedCount());
+        assertEquals(List.of(10L, 11L), response.getReassignedTaskIds());
+        assertEquals(List.of(12L), response.getSkippedTaskIds());
+        // Rows are locked before the tombstones and the update are written
+        InOrder inOrder = inOrder(taskRepository, taskTombstoneRepository);
+        inOrder.verify(taskRepository).lockOpenForReassignment(any(), any(), any(), any());
+        inOrder.verify(taskTombstoneRepository).insertForTasks(eq(List.of(10L, 11L)), eq(2L), any());
+        inOrder.verify(taskRepository).reassign(eq(List.of(10L, 11L)), argThat(to -> to.getId() == 3L), any());
+        verify(engineerWorkloadCache).moveOnCommit(
+                argThat((List<EngineerWorkloadCache.Contribution> before) -> before.size() == 2
+                        && before.stream().allMatch(contribution -> contribution.engineerId() == 2L)),
+                argThat((List<EngineerWorkloadCache.Contribution> after) -> after.size() == 2
+                        && after.stream().allMatch(contribution -> contribution.engineerId() == 3L)));
+    }
+
+    @Test
+    void testReassignTasks_WithoutIdsLocksAllOpenTasksOfTheEngineer() {
+        engineers(2L, 3L);
+        when(taskRepository.lockOpenForReassignment(1L, 2L, TaskStatus.APPROVED)).thenReturn(List.of());
+
+        BulkReassignResponse response = taskService.reassignTasks(reassignRequest(2L, 3L, null), "pm");
+
+        assertEquals(0, response.getRequestedCount());
+        assertEquals(0, response.getReassignedCount());
+        assertEquals(List.of(), response.getSkippedTaskIds());
+        // Nothing locked, nothing written
+        verify(taskRepository, never()).reassign(any(), any(), any());
+        verifyNoInteractions(taskTombstoneRepository, resourceVersionRegistry);
+    }
+
+    @Test
+    void testReassignTasks_RejectedBeforeAnyRowIsLocked() {
+        when(userService.getAuthenticatedUser("eng1")).thenReturn(ENGINEER);
+        when(userService.getAuthenticatedUser("pm")).thenReturn(PM);
+        when(userService.getUserById(2L)).thenReturn(User.builder().id(2L).role(Role.ENGINEER).build());
+        when(userService.getUserById(1L)).thenReturn(User.builder().id(1L).role(Role.PROJECT_MANAGER).build());
+
+        assertThrows(AccessDeniedException.class,
+                () -> taskService.reassignTasks(reassignRequest(2L, 3L, null), "eng1"));
+        assertThrows(ValidationException.class,
+                () -> taskService.reassignTasks(reassignRequest(2L, 2L, null), "pm"));
+        assertThrows(AccessDeniedException.class,
+                () -> taskService.reassignTasks(reassignRequest(2L, 1L, null), "pm"));
+        verify(taskRepository, never()).lockOpenForReassignment(any(), any(), any());
+        verify(taskRepository, never()).lockOpenForReassignment(any(), any(), any(), any());
+    }
+
+    @Test
+    void testDeleteTasks_SoftDeletesOwnTasksAndLeavesTombstones() {
+        when(userService.getAuthenticatedUser("pm")).thenReturn(PM);
+        // 12 belongs to another PM and 13 does not exist
+        when(taskRepository.findDeletableForCreator(1L, Set.of(10L, 11L, 12L, 13L))).thenReturn(List.of(
+                new Deletable(10L, TaskStatus.IN_PROGRESS, 1.0, null, 2L, "eng1"),
+                new Deletable(11L, TaskStatus.IN_PROGRESS, null, null, null, null)));
+        when(taskRepository.softDelete(eq(List.of(10L, 11L)), any())).thenReturn(2);
+
+        assertEquals(2, taskService.deleteTasks(List.of(10L, 11L, 12L, 13L), "pm"));
+
+        // The tombstones and the deletion share one timestamp, so delta sync sees them together
+        InOrder inOrder = inOrder(taskTombstoneRepository, taskRepository);
+        inOrder.verify(taskTombstoneRepository).insertForTasks(eq(List.of(10L, 11L)), eq(1L), any());
+        inOrder.verify(taskTombstoneRepository).insertForAssignees(eq(List.of(10L, 11L)), any());
+        inOrder.verify(taskRepository).softDelete(eq(List.of(10L, 11L)), any());
+        verify(taskRepository, never()).delete(any());
+        verify(taskRepository, never()).deleteAllById(any());
+        verify(taskSearchIndex).remove(10L);
+        verify(taskSearchIndex).remove(11L);
+        verify(resourceVersionRegistry).bumpTasks("eng1");
+    }
+
+    @Test
+    void testDeleteTasks_NothingOwnedWritesNothing() {
+        when(userService.getAuthenticatedUser("pm")).thenReturn(PM);
+        when(taskRepository.findDeletableForCreator(eq(1L), any())).thenReturn(List.of());
+
+        assertEquals(0, taskService.deleteTasks(List.of(12L), "pm"));
+        verify(taskRepository, never()).softDelete(any(), any());
+        verifyNoInteractions(taskTombstoneRepository);
+        assertThrows(ValidationException.class, () -> taskService.deleteTasks(List.of(), "pm"));
+    }
+
+    @Test
+    void testDeleteTask_TellsMissingFromForeignTasks() {
+        when(userService.getAuthenticatedUser("pm")).thenReturn(PM);
+        when(taskRepository.findDeletableForCreator(eq(1L), any())).thenReturn(List.of());
+        when(taskRepository.existsById(12L)).thenReturn(true);
+        when(taskRepository.existsById(13L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> taskService.deleteTask(12L, "pm"));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.deleteTask(13L, "pm"));
+        verify(taskRepository, never()).softDelete(any(), any());
+    }
+
+    @Test
+    void testUpdateTask_UnassignedTaskStillPublishesTheChange() {
+        User pm = User.builder().id(1L).username("pm").role(Role.PROJECT_MANAGER).build();
+        Task task = Task.builder().id(10L).title("Design").createdBy(pm).status(TaskStatus.IN_PROGRESS).build();
+        when(taskRepository.findById(10L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(task)).thenReturn(task);
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Design review");
+
+        // No transaction is active, so the after-commit work runs inline
+        taskService.updateTask(10L, request, "pm");
+
+        verify(replicaLagGuard).recordWrite(Set.of("pm"));
+        verify(resourceVersionRegistry).bumpTasks("pm");
+        verify(taskSearchIndex).upsert(task);
+        verify(taskTimelineIndex).upsert(task);
+    }
+
+    @Test
+    void testDeleteTask_UnassignedTaskStillPublishesTheChange() {
+        when(userService.getAuthenticatedUser("pm")).thenReturn(PM);
+        when(taskRepository.findDeletableForCreator(1L, List.of(10L))).thenReturn(List.of(
+                new Deletable(10L, TaskStatus.IN_PROGRESS, 1.0, null, null, null)));
+
+        taskService.deleteTask(10L, "pm");
+
+        verify(replicaLagGuard).recordWrite(Set.of("pm"));
+        verify(resourceVersionRegistry).bumpTasks("pm");
+        verify(taskSearchIndex).remove(10L);
+        verify(taskTimelineIndex).remove(10L);
+    }
+
+    private static String cursor(LocalDateTime at) {
+        return Long.toString(at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    @Test
+    void testGetChanges_CursorWithinTheTombstoneRetentionListsRemovals() {
+        ReflectionTestUtils.setField(taskService, "tombstoneRetentionDays", 30);
+        when(userService.getAuthenticatedUser("eng1")).thenReturn(ENGINEER);
+        when(taskRepository.findChangedForAssignee(eq(2L), any(), any())).thenReturn(List.of());
+        when(taskTombstoneRepository.findTaskIdsRemovedForUser(eq(2L), any(), any())).thenReturn(List.of(7L));
+
+        TaskChangesResponse changes = taskService.getChanges("eng1", cursor(LocalDateTime.now().minusDays(29)));
+
+        assertEquals(List.of(7L), changes.getDeletedIds());
+    }
+
+    @Test
+    void testGetChanges_CursorOlderThanTheTombstoneRetentionRequiresResync() {
+        ReflectionTestUtils.setField(taskService, "tombstoneRetentionDays", 30);
+        when(userService.getAuthenticatedUser("eng1")).thenReturn(ENGINEER);
+
+        // Its removals may already be purged, so a delta would silently miss them
+        ResourceGoneException e = assertThrows(ResourceGoneException.class,
+                () -> taskService.getChanges("eng1", cursor(LocalDateTime.now().minusDays(31))));
+        assertEquals("SYNC_RESYNC_REQUIRED", e.getCode());
+        verifyNoInteractions(taskTombstoneRepository);
+    }
+}
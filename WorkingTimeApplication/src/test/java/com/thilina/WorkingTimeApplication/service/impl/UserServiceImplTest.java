@@ -0,0 +1,108 @@
+package com.thilina.WorkingTimeApplication.service.impl;
+
+import com.thilina.WorkingTimeApplication.cache.EngineerDirectoryIndex;
+import com.thilina.WorkingTimeApplication.cache.EngineerWorkloadCache;
+import com.thilina.WorkingTimeApplication.config.jwt.JwtPrincipal;
+import com.thilina.WorkingTimeApplication.config.jwt.JwtUtil;
+import com.thilina.WorkingTimeApplication.dto.AuthenticatedUser;
+import com.thilina.WorkingTimeApplication.enums.Role;
+import com.thilina.WorkingTimeApplication.model.User;
+import com.thilina.WorkingTimeApplication.repository.UserRepository;
+import com.thilina.WorkingTimeApplication.util.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    private static final Instant ISSUED_AT = Instant.parse("2026-11-02T08:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EngineerWorkloadCache engineerWorkloadCache;
+
+    @Mock
+    private EngineerDirectoryIndex engineerDirectoryIndex;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(Long userId, String username, String role, int claimsVersion) {
+        JwtPrincipal principal = new JwtPrincipal(userId, username, role, claimsVersion, 9L,
+                ISSUED_AT, ISSUED_AT.plusSeconds(3600));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private void storedUser(long id, String username, Role role) {
+        when(userRepository.findByUsername(username))
+                .thenReturn(Optional.of(User.builder().id(id).username(username).role(role).build()));
+    }
+
+    @Test
+    void testGetAuthenticatedUser_TakenFromTheTokenClaims() {
+        authenticate(2L, "eng1", Role.ENGINEER.name(), JwtUtil.CLAIMS_VERSION);
+
+        assertEquals(new AuthenticatedUser(2L, "eng1", Role.ENGINEER), userService.getAuthenticatedUser("eng1"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testGetAuthenticatedUser_OlderTokenFallsBackToTheUserRow() {
+        // Issued before the id claim existed
+        authenticate(null, "eng1", Role.ENGINEER.name(), 0);
+        storedUser(2L, "eng1", Role.ENGINEER);
+
+        assertEquals(new AuthenticatedUser(2L, "eng1", Role.ENGINEER), userService.getAuthenticatedUser("eng1"));
+        verify(userRepository).findByUsername("eng1");
+    }
+
+    @Test
+    void testGetAuthenticatedUser_OutdatedClaimsVersionIsNotTrusted() {
+        // A token of an earlier claims layout: its role may mean something else now
+        authenticate(2L, "eng1", Role.PROJECT_MANAGER.name(), JwtUtil.CLAIMS_VERSION - 1);
+        storedUser(2L, "eng1", Role.ENGINEER);
+
+        assertEquals(Role.ENGINEER, userService.getAuthenticatedUser("eng1").role());
+    }
+
+    @Test
+    void testGetAuthenticatedUser_OtherUsernameIsLookedUp() {
+        // The caller's claims never answer for somebody else
+        authenticate(1L, "pm", Role.PROJECT_MANAGER.name(), JwtUtil.CLAIMS_VERSION);
+        storedUser(2L, "eng1", Role.ENGINEER);
+
+        assertEquals(new AuthenticatedUser(2L, "eng1", Role.ENGINEER), userService.getAuthenticatedUser("eng1"));
+    }
+
+    @Test
+    void testGetAuthenticatedUser_OutsideARequestLooksUpOrFails() {
+        storedUser(1L, "pm", Role.PROJECT_MANAGER);
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertEquals(1L, userService.getAuthenticatedUser("pm").id());
+        assertThrows(ResourceNotFoundException.class, () -> userService.getAuthenticatedUser("ghost"));
+        verify(userRepository, times(2)).findByUsername(anyString());
+    }
+}
@@ -0,0 +1,154 @@
+package com.thilina.WorkingTimeApplication.session;
+
+import com.thilina.WorkingTimeApplication.config.jwt.TokenRevocationList;
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository;
+import com.thilina.WorkingTimeApplication.repository.UserSessionRepository.ActiveSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SessionWriteBehindQueueTest {
+
+    private SessionIdAllocator sessionIdAllocator;
+    private UserSessionRepository userSessionRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TokenRevocationList tokenRevocationList;
+    private SessionWriteBehindQueue queue;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sessionIdAllocator = mock(SessionIdAllocator.class);
+        userSessionRepository = mock(UserSessionRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        tokenRevocationList = mock(TokenRevocationList.class);
+        doAnswer(invocation -> {
+            invocation.<KeyHolder>getArgument(1).getKeyList().add(Map.of("rev", 5));
+            return 1;
+        }).when(jdbcTemplate).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        queue = new SessionWriteBehindQueue(sessionIdAllocator, userSessionRepository, jdbcTemplate,
+                transactionTemplate, tokenRevocationList);
+        ReflectionTestUtils.setField(queue, "strict", true);
+        ReflectionTestUtils.setField(queue, "flushIntervalMillis", 200L);
+        ReflectionTestUtils.setField(queue, "maxBatch", 500);
+        ReflectionTestUtils.setField(queue, "capacity", 100);
+        ReflectionTestUtils.setField(queue, "strictTimeoutMillis", 5_000L);
+        queue.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.stop();
+    }
+
+    private static ActiveSession active(long id, long userId) {
+        return new ActiveSession() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getExpiresDateTime() {
+                return LocalDateTime.now().plusHours(1);
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+        };
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_CoalescesLoginAndLogoutInOneBatch() throws Exception {
+        ReflectionTestUtils.setField(queue, "strict", false);
+        when(sessionIdAllocator.nextId()).thenReturn(11L, 12L);
+        // Hold the writer inside an earlier batch until the three changes are all queued
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userSessionRepository.findActiveByUserIds(Set.of(9L))).thenAnswer(invocation -> {
+            writing.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+        when(userSessionRepository.findActiveByUserIds(Set.of(2L))).thenReturn(List.of());
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+
+        queue.endSessions(9L);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        queue.startSession(2L, expiresAt, true);
+        queue.startSession(2L, expiresAt, true);
+        queue.endSessions(2L);
+        release.countDown();
+        queue.stop();
+
+        verify(userSessionRepository).findActiveByUserIds(Set.of(2L));
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("insert into user_session ("), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        // Both sessions ended within the window, so both rows go in inactive and are revoked
+        assertEquals(false, rows.getValue().get(0)[2]);
+        assertEquals(false, rows.getValue().get(1)[2]);
+        verify(tokenRevocationList).revoke(eq(11L), any());
+        verify(tokenRevocationList).revoke(eq(12L), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WritesOneRevisionPerBatch() {
+        when(sessionIdAllocator.nextId()).thenReturn(31L);
+        when(userSessionRepository.findActiveByUserIds(Set.of(4L))).thenReturn(List.of(active(30L, 4L)));
+
+        queue.startSession(4L, Instant.now().plusSeconds(3600), true);
+
+        verify(jdbcTemplate, times(1)).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into user_session_aud"), rows.capture());
+        // The ended session is a MOD to inactive, the new one an ADD, both in revision 5
+        assertArrayEquals(new Object[]{30L, 5, 1, false, 4L}, rows.getValue().get(0));
+        assertArrayEquals(new Object[]{31L, 5, 0, true, 4L}, rows.getValue().get(1));
+        verify(tokenRevocationList).revoke(eq(30L), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_StartEndsOnlyEarlierSessions() {
+        when(sessionIdAllocator.nextId()).thenReturn(21L);
+        when(userSessionRepository.findActiveByUserIds(any())).thenReturn(List.of());
+
+        queue.startSession(3L, Instant.now().plusSeconds(3600), true);
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into user_session ("), rows.capture());
+        assertEquals(true, rows.getValue().get(0)[2]);
+        verify(tokenRevocationList, never()).revoke(eq(21L), any());
+    }
+}
@@ -0,0 +1,32 @@
+package com.thilina.WorkingTimeApplication.util.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void testParse_QuotedFieldsAndLineEndings() {
+        String csv = "username,password\r\n" +
+                "jdoe,\"pa,ss\"\r\n" +
+                "\r\n" +
+                "\"said \"\"hi\"\"\",\"two\nlines\"\n" +
+                "empty,";
+
+        List<List<String>> records = CsvReader.parse(csv);
+
+        assertEquals(List.of(
+                List.of("username", "password"),
+                List.of("jdoe", "pa,ss"),
+                List.of("said \"hi\"", "two\nlines"),
+                List.of("empty", "")), records);
+    }
+
+    @Test
+    void testParse_RejectsUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvReader.parse("a,\"b\nc"));
+    }
+}
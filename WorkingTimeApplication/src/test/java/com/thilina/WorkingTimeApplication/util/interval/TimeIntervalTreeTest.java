@@ -0,0 +1,87 @@
+package com.thilina.WorkingTimeApplication.util.interval;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeIntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private record Slot(int id, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private static Slot slot(int id, int startHour, int endHour) {
+        return new Slot(id, BASE.plusHours(startHour), BASE.plusHours(endHour));
+    }
+
+    private static TimeIntervalTree<Slot> treeOf(List<Slot> slots) {
+        return TimeIntervalTree.build(slots, Slot::start, Slot::end);
+    }
+
+    @Test
+    void testQuery_ReturnsEmpty_WhenTreeIsEmpty() {
+        TimeIntervalTree<Slot> tree = treeOf(Collections.emptyList());
+
+        assertEquals(0, tree.size());
+        assertTrue(tree.query(BASE, BASE.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void testQuery_TreatsIntervalsAsHalfOpen() {
+        TimeIntervalTree<Slot> tree = treeOf(List.of(slot(1, 0, 8), slot(2, 8, 16)));
+
+        // A window that starts exactly where slot 1 ends only touches slot 2
+        List<Slot> result = tree.query(BASE.plusHours(8), BASE.plusHours(9));
+
+        assertEquals(List.of(slot(2, 8, 16)), result);
+    }
+
+    @Test
+    void testQuery_FindsLongIntervalSpanningTheWindow() {
+        TimeIntervalTree<Slot> tree = treeOf(List.of(
+                slot(1, 0, 1000),
+                slot(2, 10, 11),
+                slot(3, 20, 21),
+                slot(4, 30, 31)
+        ));
+
+        List<Slot> result = tree.query(BASE.plusHours(500), BASE.plusHours(501));
+
+        assertEquals(List.of(slot(1, 0, 1000)), result);
+    }
+
+    @Test
+    void testQuery_MatchesBruteForce_ForRandomIntervals() {
+        Random random = new Random(42);
+        List<Slot> slots = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int start = random.nextInt(10_000);
+            slots.add(slot(i, start, start + 1 + random.nextInt(200)));
+        }
+        TimeIntervalTree<Slot> tree = treeOf(slots);
+
+        for (int q = 0; q < 500; q++) {
+            LocalDateTime from = BASE.plusHours(random.nextInt(10_200));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(300));
+
+            List<Integer> expected = slots.stream()
+                    .filter(s -> s.start().isBefore(to) && s.end().isAfter(from))
+                    .map(Slot::id)
+                    .sorted()
+                    .toList();
+            List<Integer> actual = tree.query(from, to).stream()
+                    .map(Slot::id)
+                    .sorted()
+                    .toList();
+
+            assertEquals(expected, actual);
+        }
+    }
+}
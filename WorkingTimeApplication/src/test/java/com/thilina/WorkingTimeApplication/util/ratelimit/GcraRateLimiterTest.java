@@ -0,0 +1,71 @@
+package com.thilina.WorkingTimeApplication.util.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private GcraRateLimiter limiter(int burst, Duration period) {
+        return new GcraRateLimiter(burst, period, 1_000, now::get);
+    }
+
+    @Test
+    void testTryAcquire_AllowsBurstThenRejects() {
+        GcraRateLimiter limiter = limiter(5, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("eng1"));
+        }
+        long wait = limiter.tryAcquire("eng1");
+
+        // One attempt comes back every 12 seconds
+        assertEquals(TimeUnit.SECONDS.toNanos(12), wait);
+        assertEquals(0, limiter.tryAcquire("eng2"));
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() {
+        GcraRateLimiter limiter = limiter(5, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("eng1");
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(12));
+        assertEquals(0, limiter.tryAcquire("eng1"));
+        assertTrue(limiter.tryAcquire("eng1") > 0);
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("eng1"));
+        }
+        assertTrue(limiter.tryAcquire("eng1") > 0);
+    }
+
+    @Test
+    void testTryAcquire_ConcurrentAttemptsNeverExceedBurst() throws Exception {
+        GcraRateLimiter limiter = limiter(50, Duration.ofMinutes(1));
+        AtomicInteger allowed = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.submit(() -> {
+                    if (limiter.tryAcquire("10.0.0.1") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(50, allowed.get());
+    }
+}